@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.powsybl.contingency.json.ContingencyJsonModule;
+import com.powsybl.iidm.network.Network;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.gridsuite.actions.ContingencyListEvaluator;
+import org.gridsuite.actions.FilterProvider;
+import org.gridsuite.actions.dto.contingency.IdBasedContingencyList;
+import org.gridsuite.actions.dto.evaluation.ContingencyListExportResult;
+import org.gridsuite.actions.server.dto.ContingencyCount;
+import org.gridsuite.actions.server.entities.AbstractContingencyEntity;
+import org.gridsuite.actions.server.entities.IdBasedContingencyListEntity;
+import org.gridsuite.actions.server.repositories.ContingencyListMetadataRepository;
+import org.gridsuite.actions.server.repositories.FilterBasedContingencyListRepository;
+import org.gridsuite.actions.server.repositories.IdBasedContingencyListBulkRepository;
+import org.gridsuite.actions.server.repositories.IdBasedContingencyListRepository;
+import org.gridsuite.actions.server.repositories.IdentifierListRepository;
+import org.gridsuite.actions.server.service.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Throughput of contingency list evaluation, count and export on synthetic networks, without database nor network store:
+ * repositories are stubbed to return the generated lists, and the network is already loaded.
+ * Lists have no modification date, so that counts are never answered by the count cache.
+ * Allocation rates are reported by the gc profiler enabled in the benchmarks profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ContingencyListBenchmark {
+
+    private static final UUID NETWORK_UUID = UUID.randomUUID();
+
+    private static final int LIST_COUNT = 10;
+
+    public enum Scale {
+        TINY(1_000, 10),
+        SMALL(10_000, 1_000),
+        MEDIUM(100_000, 10_000),
+        LARGE(500_000, 50_000);
+
+        private final int equipmentCount;
+        private final int contingencyCount;
+
+        Scale(int equipmentCount, int contingencyCount) {
+            this.equipmentCount = equipmentCount;
+            this.contingencyCount = contingencyCount;
+        }
+    }
+
+    @Param({"TINY", "SMALL", "MEDIUM", "LARGE"})
+    Scale scale;
+
+    private Network network;
+
+    private NetworkElementIndex networkElementIndex;
+
+    private List<IdBasedContingencyListEntity> entities;
+
+    private List<UUID> contingencyListIds;
+
+    private EvaluationExecutor evaluationExecutor;
+
+    private ContingencyListService contingencyListService;
+
+    private ObjectMapper objectMapper;
+
+    private ObjectMapper smileMapper;
+
+    private ContingencyListExportResult exportResult;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        network = SyntheticNetworks.createNetwork(scale.equipmentCount);
+        networkElementIndex = NetworkElementIndex.of(network);
+        entities = SyntheticNetworks.createIdBasedContingencyLists(scale.equipmentCount, scale.contingencyCount, LIST_COUNT);
+        contingencyListIds = entities.stream().map(AbstractContingencyEntity::getId).toList();
+
+        IdBasedContingencyListRepository idBasedContingencyListRepository = mock(IdBasedContingencyListRepository.class);
+        when(idBasedContingencyListRepository.findAllWithIdentifiersByIdIn(any())).thenReturn(entities);
+        ContingencyListMetadataRepository contingencyListMetadataRepository = mock(ContingencyListMetadataRepository.class);
+        when(contingencyListMetadataRepository.findMetadataByIdIn(any())).thenReturn(entities.stream()
+                .map(entity -> new Object[] {entity.getId(), "IDENTIFIERS", entity.getModificationDate()})
+                .toList());
+        NetworkCacheService networkCacheService = mock(NetworkCacheService.class);
+        // the network has been walked through by its index, so that the evaluation tasks sharing it only read it
+        when(networkCacheService.lease(any(), any())).thenAnswer(invocation -> NetworkLease.of(network, networkElementIndex));
+
+        ContingencyListEvaluator contingencyListEvaluator = new ContingencyListEvaluator(mock(FilterProvider.class));
+        ContingencyListMetrics contingencyListMetrics = new ContingencyListMetrics(new SimpleMeterRegistry());
+        evaluationExecutor = new EvaluationExecutor(4);
+        contingencyListService = new ContingencyListService(
+                idBasedContingencyListRepository,
+                mock(FilterBasedContingencyListRepository.class),
+                contingencyListMetadataRepository,
+                mock(IdBasedContingencyListBulkRepository.class),
+                mock(IdentifierListRepository.class),
+                networkCacheService,
+                mock(NotificationService.class),
+                mock(FilterService.class),
+                contingencyListEvaluator,
+                evaluationExecutor,
+                new ContingencyCountCacheService(new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(1)),
+                new ContingencyCountEngine(contingencyListEvaluator),
+                contingencyListMetrics,
+                new RequestCoalescer(contingencyListMetrics),
+                mock(PlatformTransactionManager.class),
+                0);
+
+        objectMapper = new ObjectMapper().registerModule(new ContingencyJsonModule());
+        // same settings as the Smile HTTP message converter
+        smileMapper = new ObjectMapper(new SmileFactory().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)).registerModule(new ContingencyJsonModule());
+        exportResult = contingencyListService.exportContingencyList(contingencyListIds, NETWORK_UUID, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        evaluationExecutor.shutdown();
+    }
+
+    @Benchmark
+    public void fromIdBasedContingencyListEntity(Blackhole blackhole) {
+        for (IdBasedContingencyListEntity entity : entities) {
+            IdBasedContingencyList contingencyList = ContingencyListService.fromIdBasedContingencyListEntity(entity, networkElementIndex);
+            blackhole.consume(contingencyList);
+        }
+    }
+
+    @Benchmark
+    public ContingencyListExportResult exportContingencyList() {
+        return contingencyListService.exportContingencyList(contingencyListIds, NETWORK_UUID, null);
+    }
+
+    @Benchmark
+    public ContingencyCount getContingencyCount() {
+        return contingencyListService.getContingencyCount(contingencyListIds, NETWORK_UUID, null);
+    }
+
+    @Benchmark
+    public byte[] serializeExportResult() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(exportResult);
+    }
+
+    @Benchmark
+    public byte[] serializeExportResultSmile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(exportResult);
+    }
+}
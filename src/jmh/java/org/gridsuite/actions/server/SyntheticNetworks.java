@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server;
+
+import com.powsybl.contingency.list.IdentifierContingencyList;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Substation;
+import com.powsybl.iidm.network.TopologyKind;
+import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.iidm.network.identifiers.IdBasedNetworkElementIdentifier;
+import com.powsybl.iidm.network.identifiers.NetworkElementIdentifier;
+import com.powsybl.iidm.network.identifiers.NetworkElementIdentifierContingencyList;
+import com.powsybl.network.store.iidm.impl.NetworkFactoryImpl;
+import org.gridsuite.actions.dto.contingency.IdBasedContingencyList;
+import org.gridsuite.actions.server.entities.IdBasedContingencyListEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Synthetic networks and identifier contingency lists for benchmarks.
+ * Each voltage level holds a bus, a generator and a load, and is linked to the previous one by a line.
+ */
+final class SyntheticNetworks {
+
+    static final String MISSING_EQUIPMENT_PREFIX = "MISSING_";
+
+    // one contingency out of NOT_FOUND_PERIOD references an equipment which is not in the network
+    private static final int NOT_FOUND_PERIOD = 100;
+
+    private SyntheticNetworks() {
+    }
+
+    static Network createNetwork(int equipmentCount) {
+        Network network = new NetworkFactoryImpl().createNetwork("synthetic", "benchmark");
+        int voltageLevelCount = Math.max(2, equipmentCount / 3);
+        for (int i = 0; i < voltageLevelCount; i++) {
+            Substation substation = network.newSubstation().setId("S" + i).add();
+            VoltageLevel voltageLevel = substation.newVoltageLevel()
+                    .setId("VL" + i)
+                    .setNominalV(400)
+                    .setTopologyKind(TopologyKind.BUS_BREAKER)
+                    .add();
+            voltageLevel.getBusBreakerView().newBus().setId("B" + i).add();
+            voltageLevel.newGenerator()
+                    .setId("G" + i)
+                    .setBus("B" + i)
+                    .setConnectableBus("B" + i)
+                    .setMinP(0)
+                    .setMaxP(100)
+                    .setTargetP(50)
+                    .setTargetQ(0)
+                    .setVoltageRegulatorOn(false)
+                    .add();
+            voltageLevel.newLoad()
+                    .setId("LD" + i)
+                    .setBus("B" + i)
+                    .setConnectableBus("B" + i)
+                    .setP0(10)
+                    .setQ0(0)
+                    .add();
+            if (i > 0) {
+                network.newLine()
+                        .setId("L" + i)
+                        .setVoltageLevel1("VL" + (i - 1))
+                        .setBus1("B" + (i - 1))
+                        .setConnectableBus1("B" + (i - 1))
+                        .setVoltageLevel2("VL" + i)
+                        .setBus2("B" + i)
+                        .setConnectableBus2("B" + i)
+                        .setR(1)
+                        .setX(10)
+                        .setG1(0)
+                        .setB1(0)
+                        .setG2(0)
+                        .setB2(0)
+                        .add();
+            }
+        }
+        return network;
+    }
+
+    /**
+     * Spread contingencyCount N-1 contingencies over listCount identifier lists, cycling over the lines, generators and loads
+     * of a network created with the same equipment count.
+     */
+    static List<IdBasedContingencyListEntity> createIdBasedContingencyLists(int equipmentCount, int contingencyCount, int listCount) {
+        int voltageLevelCount = Math.max(2, equipmentCount / 3);
+        List<List<NetworkElementIdentifier>> identifiersByList = new ArrayList<>();
+        for (int i = 0; i < listCount; i++) {
+            identifiersByList.add(new ArrayList<>());
+        }
+        for (int i = 0; i < contingencyCount; i++) {
+            String equipmentId;
+            if (i % NOT_FOUND_PERIOD == NOT_FOUND_PERIOD - 1) {
+                equipmentId = MISSING_EQUIPMENT_PREFIX + i;
+            } else {
+                int index = i / 3 % (voltageLevelCount - 1) + 1;
+                equipmentId = switch (i % 3) {
+                    case 0 -> "L" + index;
+                    case 1 -> "G" + index;
+                    default -> "LD" + index;
+                };
+            }
+            identifiersByList.get(i % listCount).add(new NetworkElementIdentifierContingencyList(
+                    List.of(new IdBasedNetworkElementIdentifier(equipmentId)), "N-1_" + i));
+        }
+
+        List<IdBasedContingencyListEntity> entities = new ArrayList<>();
+        for (List<NetworkElementIdentifier> identifiers : identifiersByList) {
+            if (identifiers.isEmpty()) {
+                continue;
+            }
+            UUID id = UUID.randomUUID();
+            IdBasedContingencyListEntity entity = new IdBasedContingencyListEntity(
+                    new IdBasedContingencyList(id, null, new IdentifierContingencyList(id.toString(), identifiers)));
+            entity.setId(id);
+            entities.add(entity);
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Element updates notified by the other servers, filter updates evicting the cached filter definitions.
+ *
+ * @author Kevin Le Saulnier <kevin.lesaulnier at rte-france.com>
+ */
+@Configuration
+public class ConsumerService {
+    private static final String CATEGORY_BROKER_INPUT = ConsumerService.class.getName() + ".input-broker-messages";
+    private static final Logger MESSAGE_INPUT_LOGGER = LoggerFactory.getLogger(CATEGORY_BROKER_INPUT);
+
+    private final DefaultFilterProvider defaultFilterProvider;
+
+    public ConsumerService(DefaultFilterProvider defaultFilterProvider) {
+        this.defaultFilterProvider = defaultFilterProvider;
+    }
+
+    @Bean
+    public Consumer<Message<String>> consumeElementUpdate() {
+        return message -> {
+            MESSAGE_INPUT_LOGGER.debug("Consuming message : {}", message);
+            Optional.ofNullable(message.getHeaders().get(NotificationService.HEADER_ELEMENT_UUID))
+                    .map(elementUuid -> UUID.fromString(elementUuid.toString()))
+                    .ifPresent(defaultFilterProvider::invalidate);
+        };
+    }
+}
@@ -6,6 +6,8 @@
  */
 package org.gridsuite.actions.server;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -20,16 +22,26 @@ import org.gridsuite.actions.dto.contingency.PersistentContingencyList;
 import org.gridsuite.actions.dto.evaluation.ContingencyIdsByGroup;
 import org.gridsuite.actions.dto.evaluation.ContingencyInfos;
 import org.gridsuite.actions.dto.evaluation.ContingencyListExportResult;
+import org.gridsuite.actions.server.configs.ExportSerializationConfig;
 import org.gridsuite.actions.server.dto.ContingencyCount;
 import org.gridsuite.actions.server.dto.CountWithMissingUuids;
+import org.gridsuite.actions.server.dto.ExportJobInfos;
+import org.gridsuite.actions.server.dto.IdentifierContingencyListModification;
+import org.gridsuite.actions.utils.ContingencyListType;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -41,10 +53,18 @@ import java.util.UUID;
 @ComponentScan(basePackageClasses = ContingencyListService.class)
 public class ContingencyListController {
 
+    private static final int STREAMING_FLUSH_SIZE = 1000;
+
     private final ContingencyListService service;
 
-    public ContingencyListController(ContingencyListService service) {
+    private final ExportJobService exportJobService;
+
+    private final ObjectMapper objectMapper;
+
+    public ContingencyListController(ContingencyListService service, ExportJobService exportJobService, ObjectMapper objectMapper) {
         this.service = service;
+        this.exportJobService = exportJobService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping(value = "/contingency-lists/count-by-group", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -65,9 +85,9 @@ public class ContingencyListController {
         return ResponseEntity.ok().body(service.getContingencyCount(ids, networkUuid, variantId));
     }
 
-    @GetMapping(value = "/contingency-lists/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/contingency-lists/export", produces = {MediaType.APPLICATION_JSON_VALUE, ExportSerializationConfig.APPLICATION_SMILE_VALUE})
     @Operation(summary = "Evaluate and export a contingency list to PowSyBl JSON format")
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The contingency list in PowSyBl JSON format"),
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The contingency list in PowSyBl JSON format, or in Smile format if accepted"),
                            @ApiResponse(responseCode = "404", description = "The contingency list does not exists")})
     public ResponseEntity<ContingencyListExportResult> exportContingencyList(@RequestParam(value = "networkUuid", required = false) UUID networkUuid,
                                                                              @RequestParam(value = "variantId", required = false) String variantId,
@@ -75,9 +95,47 @@ public class ContingencyListController {
         return ResponseEntity.ok().body(service.exportContingencyList(contingencyListIds, networkUuid, variantId));
     }
 
-    @GetMapping(value = "/contingency-lists/contingency-infos/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(value = "/contingency-lists/export-jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Submit the export of contingency lists, evaluated in the background")
+    @ApiResponses(value = {@ApiResponse(responseCode = "202", description = "The export job has been queued"),
+                           @ApiResponse(responseCode = "503", description = "Too many export jobs are pending")})
+    public ResponseEntity<ExportJobInfos> submitExportJob(@RequestParam(value = "networkUuid", required = false) UUID networkUuid,
+                                                          @RequestParam(value = "variantId", required = false) String variantId,
+                                                          @RequestParam(value = "contingencyListIds") List<UUID> contingencyListIds,
+                                                          @Parameter(description = "Jobs with a higher priority run first") @RequestParam(value = "priority", defaultValue = "0") int priority) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(exportJobService.submit(contingencyListIds, networkUuid, variantId, priority));
+    }
+
+    @GetMapping(value = "/contingency-lists/export-jobs/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the status of an export job")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The export job status"),
+                           @ApiResponse(responseCode = "404", description = "The export job does not exist or has expired")})
+    public ResponseEntity<ExportJobInfos> getExportJob(@PathVariable("id") UUID id) {
+        return exportJobService.getJob(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/contingency-lists/export-jobs/{id}/result", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Download the result of a succeeded export job, in the same format as the synchronous export")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The contingency list in PowSyBl JSON format"),
+                           @ApiResponse(responseCode = "404", description = "The export job does not exist or has expired"),
+                           @ApiResponse(responseCode = "409", description = "The export job has not succeeded")})
+    public ResponseEntity<Resource> getExportJobResult(@PathVariable("id") UUID id) {
+        return exportJobService.getResult(id)
+                .map(path -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).<Resource>body(new FileSystemResource(path)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping(value = "/contingency-lists/export-jobs/{id}")
+    @Operation(summary = "Delete an export job and its result, a pending job is not run")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The export job has been deleted"),
+                           @ApiResponse(responseCode = "404", description = "The export job does not exist")})
+    public ResponseEntity<Void> deleteExportJob(@PathVariable("id") UUID id) {
+        return exportJobService.deleteJob(id) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping(value = "/contingency-lists/contingency-infos/export", produces = {MediaType.APPLICATION_JSON_VALUE, ExportSerializationConfig.APPLICATION_SMILE_VALUE})
     @Operation(summary = "Evaluate and export a contingency infos list to JSON format")
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The contingency list in JSON format"),
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The contingency list in JSON format, or in Smile format if accepted"),
                            @ApiResponse(responseCode = "404", description = "The contingency list does not exists")})
     public ResponseEntity<List<ContingencyInfos>> exportContingencyInfosList(@RequestParam(value = "networkUuid", required = false) UUID networkUuid,
                                                                              @RequestParam(value = "variantId", required = false) String variantId,
@@ -85,6 +143,32 @@ public class ContingencyListController {
         return ResponseEntity.ok().body(service.exportContingencyInfosList(ids, networkUuid, variantId));
     }
 
+    @GetMapping(value = "/contingency-lists/contingency-infos/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Evaluate and export a contingency infos list to newline delimited JSON format, written while being evaluated")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The contingency infos, one JSON document per line"),
+                           @ApiResponse(responseCode = "404", description = "The contingency list does not exists")})
+    public ResponseEntity<StreamingResponseBody> streamContingencyInfosList(@RequestParam(value = "networkUuid", required = false) UUID networkUuid,
+                                                                            @RequestParam(value = "variantId", required = false) String variantId,
+                                                                            @RequestParam(value = "ids") List<UUID> ids) {
+        Stream<ContingencyInfos> contingencyInfos = service.streamContingencyInfosList(ids, networkUuid, variantId);
+        ObjectWriter writer = objectMapper.writerFor(ContingencyInfos.class);
+        StreamingResponseBody body = outputStream -> {
+            try (contingencyInfos) {
+                Iterator<ContingencyInfos> iterator = contingencyInfos.iterator();
+                int written = 0;
+                while (iterator.hasNext()) {
+                    outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                    if (++written % STREAMING_FLUSH_SIZE == 0) {
+                        outputStream.flush();
+                    }
+                }
+                outputStream.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PostMapping(value = "/identifier-contingency-lists", consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Create an identifier contingency list")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The identifier contingency list have been created successfully")})
@@ -95,15 +179,26 @@ public class ContingencyListController {
                 .body(service.createIdBasedContingencyList(id, idBasedContingencyList));
     }
 
+    @PostMapping(value = "/identifier-contingency-lists/import", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create many identifier contingency lists at once")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The ids of the created identifier contingency lists, in the given lists order")})
+    public ResponseEntity<List<UUID>> importIdentifierContingencyLists(@RequestBody List<IdBasedContingencyList> idBasedContingencyLists) {
+        return ResponseEntity.ok().body(service.importIdBasedContingencyLists(idBasedContingencyLists));
+    }
+
+    @PostMapping(value = "/identifier-contingency-lists/by-equipment", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the identifier contingency lists referencing any of the given equipments")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The ids of the identifier contingency lists referencing each equipment, unreferenced equipments being absent")})
+    public ResponseEntity<Map<String, Set<UUID>>> getIdentifierContingencyListIdsByEquipmentIds(@Parameter(description = "Equipment ids") @RequestBody List<String> equipmentIds) {
+        return ResponseEntity.ok().body(service.getIdBasedContingencyListIdsByEquipmentIds(equipmentIds));
+    }
+
     @GetMapping(value = "/identifier-contingency-lists/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get identifier contingency list by id")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The identifier contingency list"),
         @ApiResponse(responseCode = "404", description = "The identifier contingency list does not exists")})
-    public ResponseEntity<PersistentContingencyList> getIdentifierContingencyList(@PathVariable("id") UUID id) {
-        return service.getIdBasedContingencyList(id, null).map(contingencyList -> ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(contingencyList))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<PersistentContingencyList> getIdentifierContingencyList(@PathVariable("id") UUID id, WebRequest webRequest) {
+        return getIfModified(id, ContingencyListType.IDENTIFIERS, webRequest, () -> service.getIdBasedContingencyList(id, null));
     }
 
     @PostMapping(value = "/identifier-contingency-lists/{id}/duplicate")
@@ -132,6 +227,23 @@ public class ContingencyListController {
         }
     }
 
+    @PatchMapping(value = "/identifier-contingency-lists/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Add, remove or rename contingencies and equipments of a identifier contingency list")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The identifier contingency list have been modified successfully"),
+                           @ApiResponse(responseCode = "400", description = "A modified contingency is not in the list, or a contingency would be left empty"),
+                           @ApiResponse(responseCode = "404", description = "The identifier contingency list does not exists")})
+    public ResponseEntity<Void> modifyIdentifierContingencyListIncrementally(
+            @PathVariable UUID id,
+            @RequestBody IdentifierContingencyListModification modification,
+            @RequestHeader("userId") String userId) {
+        try {
+            service.modifyIdBasedContingencyListIncrementally(id, modification, userId);
+            return ResponseEntity.ok().build();
+        } catch (EntityNotFoundException ignored) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PostMapping(value = "/filters-contingency-lists", consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Create an filter base contingency list")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The filter based contingency list has been created successfully")})
@@ -172,11 +284,42 @@ public class ContingencyListController {
     @Operation(summary = "Get filter based contingency list by id")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The filter based contingency list"),
         @ApiResponse(responseCode = "404", description = "The filter based contingency list does not exists")})
-    public ResponseEntity<FilterBasedContingencyList> getFilterBasedContingencyList(@PathVariable("id") UUID id) {
-        return service.getFilterBasedContingencyList(id).map(contingencyList -> ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(contingencyList))
-            .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<FilterBasedContingencyList> getFilterBasedContingencyList(@PathVariable("id") UUID id, WebRequest webRequest) {
+        return getIfModified(id, ContingencyListType.FILTERS, webRequest, () -> service.getFilterBasedContingencyList(id));
+    }
+
+    /**
+     * Answer conditional requests from the list modification date alone, the list being only loaded if it has been modified
+     * since the version known by the client. The ETag and Last-Modified headers are both derived from the modification date,
+     * the ETag with its full precision so that two saves within the same second or millisecond are told apart.
+     * A list without modification date has no version to compare to: it is always loaded, and sent without these headers.
+     */
+    private <T> ResponseEntity<T> getIfModified(UUID id, ContingencyListType type, WebRequest webRequest, Supplier<Optional<T>> contingencyListSupplier) {
+        Optional<ContingencyListMetadata> metadata = service.getContingencyListMetadata(id, type);
+        if (metadata.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Instant modificationDate = metadata.get().getModificationDate();
+        if (modificationDate == null) {
+            return contingencyListSupplier.get().map(contingencyList -> ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(contingencyList))
+                    .orElse(ResponseEntity.notFound().build());
+        }
+        String eTag = toETag(modificationDate);
+        if (webRequest.checkNotModified(eTag, modificationDate.toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).lastModified(modificationDate).build();
+        }
+        return contingencyListSupplier.get().map(contingencyList -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .eTag(eTag)
+                        .lastModified(modificationDate)
+                        .body(contingencyList))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    static String toETag(Instant modificationDate) {
+        return "\"" + modificationDate.getEpochSecond() + "." + String.format("%09d", modificationDate.getNano()) + "\"";
     }
 
     @DeleteMapping(value = "/contingency-lists/{id}")
@@ -14,8 +14,6 @@ import com.powsybl.iidm.network.identifiers.IdBasedNetworkElementIdentifier;
 import com.powsybl.iidm.network.identifiers.NetworkElementIdentifier;
 import com.powsybl.iidm.network.identifiers.NetworkElementIdentifierContingencyList;
 import com.powsybl.network.store.client.NetworkStoreService;
-import com.powsybl.network.store.client.PreloadingStrategy;
-import com.powsybl.network.store.iidm.impl.NetworkFactoryImpl;
 import org.gridsuite.actions.ContingencyListEvaluator;
 import org.gridsuite.actions.dto.*;
 import org.gridsuite.actions.dto.contingency.AbstractContingencyList;
@@ -27,22 +25,48 @@ import org.gridsuite.actions.dto.evaluation.ContingencyInfos;
 import org.gridsuite.actions.dto.evaluation.ContingencyListExportResult;
 import org.gridsuite.actions.server.dto.ContingencyCount;
 import org.gridsuite.actions.server.dto.ContingencyCountByContingencyList;
+import org.gridsuite.actions.server.dto.ContingencyListMetadataProjection;
 import org.gridsuite.actions.server.dto.CountWithMissingUuids;
+import org.gridsuite.actions.server.dto.IdentifierContingencyListModification;
 import org.gridsuite.actions.server.entities.*;
+import org.gridsuite.actions.server.repositories.ContingencyListMetadataRepository;
 import org.gridsuite.actions.server.repositories.FilterBasedContingencyListRepository;
+import org.gridsuite.actions.server.repositories.IdBasedContingencyListBulkRepository;
 import org.gridsuite.actions.server.repositories.IdBasedContingencyListRepository;
+import org.gridsuite.actions.server.repositories.IdentifierListRepository;
+import org.gridsuite.actions.server.service.ContingencyCountCacheService;
+import org.gridsuite.actions.server.service.ContingencyCountEngine;
+import org.gridsuite.actions.server.service.ContingencyListMetrics;
+import org.gridsuite.actions.server.service.EvaluationExecutor;
+import org.gridsuite.actions.server.service.FilterEvaluationMemo;
 import org.gridsuite.actions.server.service.FilterService;
+import org.gridsuite.actions.server.service.IdentifierListBatchIterator;
+import org.gridsuite.actions.server.service.NetworkElementIndex;
+import org.gridsuite.actions.server.service.NetworkCacheService;
+import org.gridsuite.actions.server.service.NetworkLease;
+import org.gridsuite.actions.server.service.RequestCoalescer;
 import org.gridsuite.actions.utils.ContingencyListType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import java.time.Instant;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -52,11 +76,33 @@ import java.util.stream.Stream;
 @Service
 public class ContingencyListService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContingencyListService.class);
+
+    static final int METADATA_PAGE_SIZE = 1000;
+
+    static final int EVALUATION_BATCH_SIZE = 1000;
+
+    static final int EQUIPMENT_LOOKUP_BATCH_SIZE = 1000;
+
+    // same order as the metadata queries: uuids are compared as unsigned bytes by the database
+    private static final Comparator<ContingencyListMetadata> METADATA_ORDER = Comparator
+            .comparing(ContingencyListMetadata::getModificationDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ContingencyListMetadata::getId, (id1, id2) -> {
+                int cmp = Long.compareUnsigned(id1.getMostSignificantBits(), id2.getMostSignificantBits());
+                return cmp != 0 ? cmp : Long.compareUnsigned(id1.getLeastSignificantBits(), id2.getLeastSignificantBits());
+            });
+
     private final IdBasedContingencyListRepository idBasedContingencyListRepository;
 
     private final FilterBasedContingencyListRepository filterBasedContingencyListRepository;
 
-    private final NetworkStoreService networkStoreService;
+    private final ContingencyListMetadataRepository contingencyListMetadataRepository;
+
+    private final IdBasedContingencyListBulkRepository idBasedContingencyListBulkRepository;
+
+    private final IdentifierListRepository identifierListRepository;
+
+    private final NetworkCacheService networkCacheService;
 
     private final NotificationService notificationService;
 
@@ -64,40 +110,143 @@ public class ContingencyListService {
 
     private final ContingencyListEvaluator contingencyListEvaluator;
 
+    private final EvaluationExecutor evaluationExecutor;
+
+    private final ContingencyCountCacheService contingencyCountCacheService;
+
+    private final ContingencyCountEngine contingencyCountEngine;
+
+    private final ContingencyListMetrics contingencyListMetrics;
+
+    private final RequestCoalescer requestCoalescer;
+
+    // count and export transactions are started by the thread computing them, not by the identical requests waiting for it
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    // identifier lists with at least this number of contingencies are stored in the compact format, never if 0
+    private final int compactStorageMinContingencies;
+
     public ContingencyListService(IdBasedContingencyListRepository idBasedContingencyListRepository,
                                   FilterBasedContingencyListRepository filterBasedContingencyListRepository,
-                                  NetworkStoreService networkStoreService,
+                                  ContingencyListMetadataRepository contingencyListMetadataRepository,
+                                  IdBasedContingencyListBulkRepository idBasedContingencyListBulkRepository,
+                                  IdentifierListRepository identifierListRepository,
+                                  NetworkCacheService networkCacheService,
                                   NotificationService notificationService,
                                   FilterService filterService,
-                                  ContingencyListEvaluator contingencyListEvaluator) {
+                                  ContingencyListEvaluator contingencyListEvaluator,
+                                  EvaluationExecutor evaluationExecutor,
+                                  ContingencyCountCacheService contingencyCountCacheService,
+                                  ContingencyCountEngine contingencyCountEngine,
+                                  ContingencyListMetrics contingencyListMetrics,
+                                  RequestCoalescer requestCoalescer,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${gridsuite.contingency-lists.compact-storage.min-contingencies:0}") int compactStorageMinContingencies) {
         this.idBasedContingencyListRepository = idBasedContingencyListRepository;
         this.filterBasedContingencyListRepository = filterBasedContingencyListRepository;
-        this.networkStoreService = networkStoreService;
+        this.contingencyListMetadataRepository = contingencyListMetadataRepository;
+        this.idBasedContingencyListBulkRepository = idBasedContingencyListBulkRepository;
+        this.identifierListRepository = identifierListRepository;
+        this.networkCacheService = networkCacheService;
         this.notificationService = notificationService;
         this.filterService = filterService;
         this.contingencyListEvaluator = contingencyListEvaluator;
+        this.evaluationExecutor = evaluationExecutor;
+        this.contingencyCountCacheService = contingencyCountCacheService;
+        this.contingencyCountEngine = contingencyCountEngine;
+        this.contingencyListMetrics = contingencyListMetrics;
+        this.requestCoalescer = requestCoalescer;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.compactStorageMinContingencies = compactStorageMinContingencies;
     }
 
-    ContingencyListMetadata fromContingencyListEntity(AbstractContingencyEntity entity, ContingencyListType type) {
-        return new ContingencyListMetadataImpl(entity.getId(), type, entity.getModificationDate());
+    List<ContingencyListMetadata> getContingencyListsMetadata() {
+        List<ContingencyListMetadata> metadata = new ArrayList<>();
+        forEachContingencyListsMetadataPage(metadata::addAll);
+        return metadata;
     }
 
-    List<ContingencyListMetadata> getContingencyListsMetadata() {
-        return Stream.of(
-            idBasedContingencyListRepository.findAll().stream().map(idBasedContingencyListEntity ->
-                    fromContingencyListEntity(idBasedContingencyListEntity, ContingencyListType.IDENTIFIERS)),
-            filterBasedContingencyListRepository.findAll().stream().map(filterBasedContingencyListEntity ->
-                    fromContingencyListEntity(filterBasedContingencyListEntity, ContingencyListType.FILTERS))
-        ).flatMap(Function.identity()).collect(Collectors.toList());
+    /**
+     * Read the metadata of all the lists, page after page, without loading the entities:
+     * a single page is held in memory at a time.
+     */
+    void forEachContingencyListsMetadataPage(Consumer<List<ContingencyListMetadata>> pageConsumer) {
+        List<ContingencyListMetadata> page = getContingencyListsMetadata(null, null, METADATA_PAGE_SIZE);
+        while (!page.isEmpty()) {
+            pageConsumer.accept(page);
+            if (page.size() < METADATA_PAGE_SIZE) {
+                return;
+            }
+            ContingencyListMetadata last = page.getLast();
+            page = getContingencyListsMetadata(last.getModificationDate(), last.getId(), METADATA_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Metadata of at most limit lists, of any type, ordered by modification date then id, lists without modification date coming last,
+     * following the list with the given id if any. This list has the given modification date, null if it has none.
+     */
+    List<ContingencyListMetadata> getContingencyListsMetadata(Instant afterModificationDate, UUID afterId, int limit) {
+        Limit pageLimit = Limit.of(limit);
+        List<ContingencyListMetadataProjection> idBasedMetadata;
+        List<ContingencyListMetadataProjection> filterBasedMetadata;
+        if (afterId == null) {
+            idBasedMetadata = idBasedContingencyListRepository.findMetadata(pageLimit);
+            filterBasedMetadata = filterBasedContingencyListRepository.findMetadata(pageLimit);
+        } else if (afterModificationDate == null) {
+            idBasedMetadata = idBasedContingencyListRepository.findMetadataWithoutModificationDateAfter(afterId, pageLimit);
+            filterBasedMetadata = filterBasedContingencyListRepository.findMetadataWithoutModificationDateAfter(afterId, pageLimit);
+        } else {
+            idBasedMetadata = idBasedContingencyListRepository.findMetadataAfter(afterModificationDate, afterId, pageLimit);
+            filterBasedMetadata = filterBasedContingencyListRepository.findMetadataAfter(afterModificationDate, afterId, pageLimit);
+        }
+        return Stream.concat(
+                idBasedMetadata.stream().map(metadata -> fromContingencyListMetadataProjection(metadata, ContingencyListType.IDENTIFIERS)),
+                filterBasedMetadata.stream().map(metadata -> fromContingencyListMetadataProjection(metadata, ContingencyListType.FILTERS))
+        ).sorted(METADATA_ORDER).limit(limit).toList();
+    }
+
+    private static ContingencyListMetadata fromContingencyListMetadataProjection(ContingencyListMetadataProjection metadata, ContingencyListType type) {
+        return new ContingencyListMetadataImpl(metadata.id(), type, metadata.modificationDate());
+    }
+
+    /**
+     * Metadata of a list of the given type, read without loading its contingencies or filters, empty if there is no such list.
+     * The modification date of a list may be null.
+     */
+    public Optional<ContingencyListMetadata> getContingencyListMetadata(UUID id, ContingencyListType type) {
+        return getContingencyListsMetadata(List.of(Objects.requireNonNull(id))).stream()
+                .filter(metadata -> metadata.getType() == type)
+                .findFirst();
     }
 
     List<ContingencyListMetadata> getContingencyListsMetadata(List<UUID> ids) {
-        return Stream.of(
-            idBasedContingencyListRepository.findAllById(ids).stream().map(idBasedContingencyListEntity ->
-                    fromContingencyListEntity(idBasedContingencyListEntity, ContingencyListType.IDENTIFIERS)),
-            filterBasedContingencyListRepository.findAllById(ids).stream().map(filterBasedContingencyListEntity ->
-                fromContingencyListEntity(filterBasedContingencyListEntity, ContingencyListType.FILTERS))
-        ).flatMap(Function.identity()).collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return contingencyListMetadataRepository.findMetadataByIdIn(ids).stream()
+                .map(row -> (ContingencyListMetadata) new ContingencyListMetadataImpl((UUID) row[0], ContingencyListType.valueOf((String) row[1]), (Instant) row[2]))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ids of the identifier lists referencing each of the given equipments, from the equipment id indexes of both storage formats.
+     * Equipments referenced by no list are absent from the returned map.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Set<UUID>> getIdBasedContingencyListIdsByEquipmentIds(Collection<String> equipmentIds) {
+        return contingencyListMetrics.recordOperation("equipment-lookup", () -> {
+            List<String> distinctEquipmentIds = List.copyOf(new LinkedHashSet<>(equipmentIds));
+            Map<String, Set<UUID>> contingencyListIds = new LinkedHashMap<>();
+            for (int from = 0; from < distinctEquipmentIds.size(); from += EQUIPMENT_LOOKUP_BATCH_SIZE) {
+                List<String> batch = distinctEquipmentIds.subList(from, Math.min(from + EQUIPMENT_LOOKUP_BATCH_SIZE, distinctEquipmentIds.size()));
+                Stream.concat(idBasedContingencyListRepository.findIdsByEquipmentIdIn(batch).stream(),
+                                idBasedContingencyListRepository.findCompactIdsByEquipmentIdIn(batch).stream())
+                        .forEach(row -> contingencyListIds.computeIfAbsent((String) row[1], k -> new HashSet<>()).add((UUID) row[0]));
+            }
+            return contingencyListIds;
+        });
     }
 
     @Transactional(readOnly = true)
@@ -107,7 +256,8 @@ public class ContingencyListService {
 
     private Optional<PersistentContingencyList> doGetIdBasedContingencyList(UUID id, Network network) {
         Objects.requireNonNull(id);
-        return idBasedContingencyListRepository.findById(id).map(idBasedContingencyListEntity -> fromIdBasedContingencyListEntity(idBasedContingencyListEntity, network));
+        NetworkElementIndex networkElementIndex = network == null ? null : networkCacheService.getNetworkElementIndex(network);
+        return idBasedContingencyListRepository.findById(id).map(idBasedContingencyListEntity -> fromIdBasedContingencyListEntity(idBasedContingencyListEntity, networkElementIndex));
     }
 
     @Transactional
@@ -137,107 +287,334 @@ public class ContingencyListService {
         return filterBasedContingencyListRepository.findById(id);
     }
 
-    private ContingencyCount getContingencyCount(Network network, List<UUID> ids) {
-        Map<UUID, ContingencyCountByContingencyList> contingenciesCountByContingencyList = new HashMap<>();
-        for (UUID uuid : ids) {
-            try {
-                Optional<PersistentContingencyList> contingencyList = getAnyContingencyList(uuid, network);
-                contingencyList.ifPresent(l -> contingenciesCountByContingencyList.put(uuid,
-                        new ContingencyCountByContingencyList(getContingencies(l, network).size(), l.getNotFoundElements(network), null)));
-            } catch (PowsyblException e) {
-                contingenciesCountByContingencyList.put(uuid, new ContingencyCountByContingencyList(0, null, e.getMessage()));
-            }
+    /**
+     * Count the contingencies of each found list, from the count cache when the list has not been modified since,
+     * otherwise with the count engine. The network is only loaded if some list has to be evaluated.
+     * Unknown ids are absent from the returned map.
+     */
+    private Map<UUID, ContingencyCountByContingencyList> getContingencyCounts(Collection<UUID> ids, UUID networkUuid, String variantId) {
+        Map<UUID, ContingencyCountByContingencyList> counts = new HashMap<>();
+        Map<UUID, Instant> modificationDates = new HashMap<>();
+        List<UUID> idsToEvaluate = new ArrayList<>();
+        getContingencyListsMetadata(List.copyOf(new HashSet<>(ids))).forEach(metadata -> {
+            modificationDates.put(metadata.getId(), metadata.getModificationDate());
+            contingencyCountCacheService.get(metadata.getId(), networkUuid, variantId, metadata.getModificationDate())
+                    .ifPresentOrElse(count -> counts.put(metadata.getId(), count), () -> idsToEvaluate.add(metadata.getId()));
+        });
+        if (idsToEvaluate.isEmpty()) {
+            return counts;
         }
-        return new ContingencyCount(contingenciesCountByContingencyList);
+
+        // lists are loaded and converted in the calling thread, which holds the transaction, and only counted concurrently
+        List<IdBasedContingencyListEntity> idBasedEntities = contingencyListMetrics.recordDatabaseLoad(ContingencyListType.IDENTIFIERS,
+                () -> idBasedContingencyListRepository.findAllWithIdentifiersByIdIn(idsToEvaluate));
+        Set<UUID> filterBasedIds = new HashSet<>(idsToEvaluate);
+        idBasedEntities.forEach(entity -> filterBasedIds.remove(entity.getId()));
+        List<FilterBasedContingencyListEntity> filterBasedEntities = filterBasedIds.isEmpty()
+                ? List.of()
+                : contingencyListMetrics.recordDatabaseLoad(ContingencyListType.FILTERS, () -> filterBasedContingencyListRepository.findAllWithFiltersByIdIn(filterBasedIds));
+        NetworkElementIndex networkElementIndex = idBasedEntities.isEmpty() ? null : getNetworkElementIndex(networkUuid, variantId);
+        List<IdBasedContingencyList> idBasedContingencyLists = idBasedEntities.stream()
+                .map(entity -> fromIdBasedContingencyListEntity(entity, networkElementIndex))
+                .toList();
+        List<FilterBasedContingencyList> filterBasedContingencyLists = filterBasedEntities.stream()
+                .map(ContingencyListService::fromFilterBasedContingencyListEntity)
+                .toList();
+
+        withFilterEvaluationMemo(filterBasedContingencyLists.size(), filterEvaluationMemo -> {
+            List<Supplier<Map.Entry<UUID, ContingencyCountByContingencyList>>> countTasks = new ArrayList<>();
+            idBasedContingencyLists.forEach(contingencyList -> countTasks.add(() -> Map.entry(contingencyList.getId(),
+                    countContingencyList(ContingencyListType.IDENTIFIERS, () -> getContingencyCountByContingencyList(contingencyList, networkUuid, variantId, networkElementIndex)))));
+            filterBasedContingencyLists.forEach(contingencyList -> countTasks.add(() -> Map.entry(contingencyList.getId(),
+                    withLeasedNetwork(networkUuid, variantId, filterEvaluationMemo,
+                        network -> countContingencyList(ContingencyListType.FILTERS, () -> contingencyCountEngine.countContingencyList(contingencyList, network))))));
+            return evaluationExecutor.map(countTasks, Supplier::get);
+        }).forEach(e -> {
+            counts.put(e.getKey(), e.getValue());
+            contingencyCountCacheService.put(e.getKey(), networkUuid, variantId, modificationDates.get(e.getKey()), e.getValue());
+        });
+        return counts;
+    }
+
+    /**
+     * A network is only leased when the list cannot be counted from its identifiers.
+     */
+    private ContingencyCountByContingencyList getContingencyCountByContingencyList(IdBasedContingencyList contingencyList, UUID networkUuid, String variantId,
+                                                                                   NetworkElementIndex networkElementIndex) {
+        return contingencyCountEngine.countIdBasedContingencyList(contingencyList, networkElementIndex)
+                .orElseGet(() -> withLeasedNetwork(networkUuid, variantId, null, network -> contingencyCountEngine.countContingencyList(contingencyList, network)));
+    }
+
+    private ContingencyCountByContingencyList countContingencyList(ContingencyListType type, Supplier<ContingencyCountByContingencyList> counter) {
+        ContingencyCountByContingencyList count = contingencyListMetrics.recordEvaluation(type, counter);
+        if (count.invalidContingencyErrorMessage() != null) {
+            contingencyListMetrics.recordEvaluationError(type);
+        } else {
+            contingencyListMetrics.recordEvaluationResult(type, count.nbContingencies(),
+                    count.notFoundElements() == null ? 0 : count.notFoundElements().values().stream().mapToLong(Set::size).sum());
+        }
+        return count;
     }
 
     @Transactional(readOnly = true)
     public Map<String, CountWithMissingUuids> getContingencyCountByGroup(ContingencyIdsByGroup contingencyIdsByGroup, UUID networkUuid, String variantId) {
-        Network network = getNetworkFromUuid(networkUuid, variantId);
+        return contingencyListMetrics.recordOperation("count-by-group", () -> doGetContingencyCountByGroup(contingencyIdsByGroup, networkUuid, variantId));
+    }
+
+    /**
+     * The distinct lists of all the groups are counted together and concurrently,
+     * so that a list shared by several groups is loaded and evaluated only once. Groups are then summed from these counts.
+     */
+    private Map<String, CountWithMissingUuids> doGetContingencyCountByGroup(ContingencyIdsByGroup contingencyIdsByGroup, UUID networkUuid, String variantId) {
+        Set<UUID> distinctIds = contingencyIdsByGroup.getIds().values().stream()
+                .flatMap(Collection::stream)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<UUID, ContingencyCountByContingencyList> counts = getContingencyCounts(distinctIds, networkUuid, variantId);
         return contingencyIdsByGroup.getIds().entrySet().stream().collect(Collectors.toMap(
                 Map.Entry::getKey,
-                e -> getContingencyCountByGroup(network, e.getValue()))
+                e -> getContingencyCountByGroup(e.getValue(), counts))
         );
     }
 
-    private CountWithMissingUuids getContingencyCountByGroup(Network network, List<UUID> ids) {
+    private static CountWithMissingUuids getContingencyCountByGroup(List<UUID> ids, Map<UUID, ContingencyCountByContingencyList> counts) {
         long nbContingencies = 0;
         List<UUID> missingContingencyListIds = new ArrayList<>();
 
         for (UUID uuid : ids) {
-            Optional<PersistentContingencyList> contingencyList = getAnyContingencyList(uuid, network);
-            if (contingencyList.isPresent()) {
-                nbContingencies += getContingencies(contingencyList.get(), network).size();
-            } else {
+            ContingencyCountByContingencyList count = counts.get(uuid);
+            if (count == null) {
                 missingContingencyListIds.add(uuid);
+            } else if (count.invalidContingencyErrorMessage() != null) {
+                throw new PowsyblException(count.invalidContingencyErrorMessage());
+            } else {
+                nbContingencies += count.nbContingencies();
             }
         }
         return new CountWithMissingUuids(nbContingencies, missingContingencyListIds);
     }
 
-    @Transactional(readOnly = true)
     public ContingencyCount getContingencyCount(List<UUID> ids, UUID networkUuid, String variantId) {
-        Network network = getNetworkFromUuid(networkUuid, variantId);
-        return getContingencyCount(network, ids);
+        return contingencyListMetrics.recordOperation("count", () -> coalesce("count", ids, networkUuid, variantId,
+                () -> new ContingencyCount(getContingencyCounts(ids, networkUuid, variantId))));
     }
 
-    @Transactional(readOnly = true)
     public ContingencyListExportResult exportContingencyList(List<UUID> contingencyListIds, UUID networkUuid, String variantId) {
-        Network network = getNetworkFromUuid(networkUuid, variantId);
-        List<Contingency> contingencies = new ArrayList<>();
+        return contingencyListMetrics.recordOperation("export", () -> coalesce("export", contingencyListIds, networkUuid, variantId,
+                () -> doExportContingencyList(contingencyListIds, networkUuid, variantId)));
+    }
+
+    /**
+     * Identical concurrent requests share a single computation, run in a read only transaction.
+     */
+    private <T> T coalesce(String operation, List<UUID> ids, UUID networkUuid, String variantId, Supplier<T> computation) {
+        return requestCoalescer.execute(new RequestCoalescer.Key(operation, ids, networkUuid, variantId),
+                () -> readOnlyTransactionTemplate.execute(status -> computation.get()));
+    }
+
+    private ContingencyListExportResult doExportContingencyList(List<UUID> contingencyListIds, UUID networkUuid, String variantId) {
+        List<PersistentContingencyList> contingencyLists = new ArrayList<>();
         List<UUID> notFoundIds = new ArrayList<>();
 
-        contingencyListIds.forEach(contingencyListId -> {
-            Optional<PersistentContingencyList> contingencyList = getAnyContingencyList(contingencyListId, network);
-            contingencyList.ifPresentOrElse(
-                    list -> contingencies.addAll(getContingencies(list, network)),
-                    () -> notFoundIds.add(contingencyListId)
-            );
-        });
+        Map<UUID, PersistentContingencyList> foundContingencyLists = getAnyContingencyLists(contingencyListIds, networkUuid, variantId);
+        contingencyListIds.forEach(contingencyListId -> Optional.ofNullable(foundContingencyLists.get(contingencyListId)).ifPresentOrElse(
+                contingencyLists::add,
+                () -> notFoundIds.add(contingencyListId)
+        ));
+
+        List<Contingency> contingencies = new ArrayList<>();
+        evaluateContingencyLists(contingencyLists, networkUuid, variantId, this::getContingencies).forEach(contingencies::addAll);
         return new ContingencyListExportResult(contingencies, notFoundIds);
     }
 
     private List<Contingency> getContingencies(PersistentContingencyList persistentContingencyList, Network network) {
-        return contingencyListEvaluator.evaluateContingencyList(persistentContingencyList, network)
+        return evaluateContingencyList(persistentContingencyList, network)
                 .stream()
                 .map(ContingencyInfos::getContingency)
                 .filter(Objects::nonNull)
                 .toList();
     }
 
-    @Transactional(readOnly = true)
     public List<ContingencyInfos> exportContingencyInfosList(List<UUID> ids, UUID networkUuid, String variantId) {
-        Network network = getNetworkFromUuid(networkUuid, variantId);
-        return ids.stream().map(id -> contingencyListEvaluator.evaluateContingencyList(findContingencyList(id, network), network)).flatMap(Collection::stream).toList();
+        return contingencyListMetrics.recordOperation("contingency-infos-export", () -> coalesce("contingency-infos-export", ids, networkUuid, variantId,
+                () -> doExportContingencyInfosList(ids, networkUuid, variantId)));
     }
 
-    private PersistentContingencyList findContingencyList(UUID id, Network network) {
-        Objects.requireNonNull(id);
-        return getAnyContingencyList(id, network)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contingency list " + id + " not found"));
+    private List<ContingencyInfos> doExportContingencyInfosList(List<UUID> ids, UUID networkUuid, String variantId) {
+        Map<UUID, PersistentContingencyList> foundContingencyLists = getAnyContingencyLists(ids, networkUuid, variantId);
+        List<PersistentContingencyList> contingencyLists = ids.stream().map(id -> findContingencyList(id, foundContingencyLists)).toList();
+        return evaluateContingencyLists(contingencyLists, networkUuid, variantId, this::evaluateContingencyList)
+                .stream()
+                .flatMap(Collection::stream)
+                .toList();
     }
 
-    private Optional<PersistentContingencyList> getAnyContingencyList(UUID id, Network network) {
-        return doGetIdBasedContingencyList(id, network)
-                .or(() -> doGetFilterBasedContingencyList(id));
+    /**
+     * Same as exportContingencyInfosList, except that the lists are only read and evaluated while the returned stream
+     * is consumed: identifier lists by batches of consecutive contingencies, filter based lists one after the other.
+     * Memory then grows with the batch size rather than with the lists size.
+     * Unknown lists are reported before returning, so that nothing has to be written yet.
+     * The stream is consumed once this method has returned, by another thread: the lists are checked in a read only
+     * transaction, then each batch of contingencies is read in its own read only transaction.
+     * The network instance is used by the stream only, until it is closed.
+     */
+    public Stream<ContingencyInfos> streamContingencyInfosList(List<UUID> ids, UUID networkUuid, String variantId) {
+        return readOnlyTransactionTemplate.execute(status -> doStreamContingencyInfosList(ids, networkUuid, variantId));
     }
 
-    private Network getNetworkFromUuid(UUID networkUuid, String variantId) {
-        Network network;
-        if (networkUuid == null) {
-            // use an empty network, script might not have need to network
-            network = new NetworkFactoryImpl().createNetwork("empty", "empty");
-        } else {
-            network = networkStoreService.getNetwork(networkUuid, PreloadingStrategy.COLLECTION);
-            if (network == null) {
-                throw new PowsyblException("Network '" + networkUuid + "' not found");
+    private Stream<ContingencyInfos> doStreamContingencyInfosList(List<UUID> ids, UUID networkUuid, String variantId) {
+        Map<UUID, ContingencyListType> types = getContingencyListsMetadata(List.copyOf(new HashSet<>(ids))).stream()
+                .collect(Collectors.toMap(ContingencyListMetadata::getId, ContingencyListMetadata::getType));
+        Set<UUID> filterBasedIds = new HashSet<>();
+        ids.forEach(id -> {
+            ContingencyListType type = Optional.ofNullable(types.get(Objects.requireNonNull(id)))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contingency list " + id + " not found"));
+            if (type == ContingencyListType.FILTERS) {
+                filterBasedIds.add(id);
+            }
+        });
+        // filter based lists are small, only their evaluation is deferred
+        List<FilterBasedContingencyListEntity> filterBasedEntities = filterBasedIds.isEmpty()
+                ? List.of()
+                : filterBasedContingencyListRepository.findAllWithFiltersByIdIn(filterBasedIds);
+        Map<UUID, PersistentContingencyList> filterBasedLists = new HashMap<>();
+        filterBasedEntities.forEach(entity -> filterBasedLists.put(entity.getId(), fromFilterBasedContingencyListEntity(entity)));
+        boolean withIdentifierLists = filterBasedIds.size() < types.size();
+        NetworkLease networkLease = leaseNetwork(networkUuid, variantId);
+        Network network = networkLease.getNetwork();
+        NetworkElementIndex networkElementIndex = withIdentifierLists ? networkLease.getNetworkElementIndex() : null;
+
+        // an iterator rather than flatMap, which would evaluate a whole list as soon as its first contingency is consumed
+        Iterator<ContingencyInfos> contingencyInfos = flatMap(ids.iterator(), id -> types.get(id) == ContingencyListType.FILTERS
+                ? evaluateContingencyList(findContingencyList(id, filterBasedLists), network).iterator()
+                : evaluateIdBasedContingencyListByBatches(id, network, networkElementIndex));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(contingencyInfos, Spliterator.ORDERED), false)
+                .onClose(networkLease::close);
+    }
+
+    private Iterator<ContingencyInfos> evaluateIdBasedContingencyListByBatches(UUID id, Network network, NetworkElementIndex networkElementIndex) {
+        // the list may have been deleted since the request has been checked
+        IdBasedContingencyListEntity entity = idBasedContingencyListRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contingency list " + id + " not found"));
+        return flatMap(new IdentifierListBatchIterator(entity, idBasedContingencyListRepository, EVALUATION_BATCH_SIZE),
+            batch -> evaluateContingencyList(fromIdentifierLists(entity, batch, networkElementIndex), network).iterator());
+    }
+
+    private static <T, R> Iterator<R> flatMap(Iterator<T> iterator, Function<T, Iterator<R>> mapper) {
+        return new Iterator<>() {
+            private Iterator<R> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && iterator.hasNext()) {
+                    current = mapper.apply(iterator.next());
+                }
+                return current.hasNext();
             }
-            if (variantId != null) {
-                network.getVariantManager().setWorkingVariant(variantId);
+
+            @Override
+            public R next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
             }
+        };
+    }
+
+    /**
+     * Evaluate the lists concurrently, each on a network instance of its own.
+     */
+    private <T> List<T> evaluateContingencyLists(List<PersistentContingencyList> contingencyLists, UUID networkUuid, String variantId,
+                                                 BiFunction<PersistentContingencyList, Network, T> evaluation) {
+        return withFilterEvaluationMemo(countFilterBasedContingencyLists(contingencyLists), filterEvaluationMemo ->
+                evaluationExecutor.map(contingencyLists, contingencyList ->
+                        withLeasedNetwork(networkUuid, variantId, filterEvaluationMemo, network -> evaluation.apply(contingencyList, network))));
+    }
+
+    /**
+     * Evaluate several filter based lists with a filter evaluation memo, so that filters shared by these lists are evaluated once.
+     * The evaluation is given no memo otherwise.
+     */
+    private <T> T withFilterEvaluationMemo(long nbFilterBasedLists, Function<FilterEvaluationMemo, T> evaluation) {
+        if (nbFilterBasedLists < 2) {
+            return evaluation.apply(null);
+        }
+        FilterEvaluationMemo filterEvaluationMemo = new FilterEvaluationMemo();
+        try {
+            return evaluation.apply(filterEvaluationMemo);
+        } finally {
+            contingencyListMetrics.recordFilterEvaluations(filterEvaluationMemo.getNbEvaluatedFilters(), filterEvaluationMemo.getNbReusedFilters());
         }
+    }
 
-        return network;
+    /**
+     * Evaluate on a network instance leased for this evaluation only, lazily loaded networks not being thread safe,
+     * with the filter evaluation memo of the request, if any, evaluating filters on this instance.
+     */
+    private <T> T withLeasedNetwork(UUID networkUuid, String variantId, FilterEvaluationMemo filterEvaluationMemo, Function<Network, T> evaluation) {
+        try (NetworkLease networkLease = leaseNetwork(networkUuid, variantId)) {
+            Network network = networkLease.getNetwork();
+            return FilterEvaluationMemo.callWith(filterEvaluationMemo == null ? null : filterEvaluationMemo.on(network), () -> evaluation.apply(network));
+        }
+    }
+
+    private static long countFilterBasedContingencyLists(Collection<PersistentContingencyList> contingencyLists) {
+        return contingencyLists.stream().filter(FilterBasedContingencyList.class::isInstance).count();
+    }
+
+    private List<ContingencyInfos> evaluateContingencyList(PersistentContingencyList contingencyList, Network network) {
+        ContingencyListType type = contingencyList instanceof IdBasedContingencyList ? ContingencyListType.IDENTIFIERS : ContingencyListType.FILTERS;
+        List<ContingencyInfos> contingencyInfos;
+        try {
+            contingencyInfos = contingencyListMetrics.recordEvaluation(type, () -> contingencyListEvaluator.evaluateContingencyList(contingencyList, network));
+        } catch (PowsyblException e) {
+            contingencyListMetrics.recordEvaluationError(type);
+            throw e;
+        }
+        contingencyListMetrics.recordEvaluationResult(type,
+                contingencyInfos.stream().filter(infos -> infos.getContingency() != null).count(),
+                contingencyInfos.stream().mapToLong(infos -> infos.getNotFoundElements() == null ? 0 : infos.getNotFoundElements().size()).sum());
+        return contingencyInfos;
+    }
+
+    private static PersistentContingencyList findContingencyList(UUID id, Map<UUID, PersistentContingencyList> foundContingencyLists) {
+        Objects.requireNonNull(id);
+        return Optional.ofNullable(foundContingencyLists.get(id))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contingency list " + id + " not found"));
+    }
+
+    /**
+     * Load all the requested lists, whatever their type, with their identifiers or filters, in a fixed number of queries.
+     * Unknown ids are absent from the returned map.
+     */
+    private Map<UUID, PersistentContingencyList> getAnyContingencyLists(Collection<UUID> ids, UUID networkUuid, String variantId) {
+        Set<UUID> remainingIds = new HashSet<>(ids);
+        List<IdBasedContingencyListEntity> idBasedEntities = remainingIds.isEmpty()
+                ? List.of()
+                : contingencyListMetrics.recordDatabaseLoad(ContingencyListType.IDENTIFIERS, () -> idBasedContingencyListRepository.findAllWithIdentifiersByIdIn(remainingIds));
+        idBasedEntities.forEach(entity -> remainingIds.remove(entity.getId()));
+        List<FilterBasedContingencyListEntity> filterBasedEntities = remainingIds.isEmpty()
+                ? List.of()
+                : contingencyListMetrics.recordDatabaseLoad(ContingencyListType.FILTERS, () -> filterBasedContingencyListRepository.findAllWithFiltersByIdIn(remainingIds));
+
+        NetworkElementIndex networkElementIndex = idBasedEntities.isEmpty() ? null : getNetworkElementIndex(networkUuid, variantId);
+        Map<UUID, PersistentContingencyList> contingencyLists = new HashMap<>();
+        idBasedEntities.forEach(entity -> contingencyLists.put(entity.getId(), fromIdBasedContingencyListEntity(entity, networkElementIndex)));
+        filterBasedEntities.forEach(entity -> contingencyLists.put(entity.getId(), fromFilterBasedContingencyListEntity(entity)));
+        return contingencyLists;
+    }
+
+    private NetworkLease leaseNetwork(UUID networkUuid, String variantId) {
+        return contingencyListMetrics.recordNetworkLoad(() -> networkCacheService.lease(networkUuid, variantId));
+    }
+
+    /**
+     * The network instance the index is built from, if it is not already, is only leased while it is built.
+     */
+    private NetworkElementIndex getNetworkElementIndex(UUID networkUuid, String variantId) {
+        try (NetworkLease networkLease = leaseNetwork(networkUuid, variantId)) {
+            return networkLease.getNetworkElementIndex();
+        }
     }
 
     @Transactional
@@ -264,7 +641,22 @@ public class ContingencyListService {
     @Transactional
     public void modifyIdBasedContingencyList(UUID id, IdBasedContingencyList idBasedContingencyList, String userId) {
         // throw if not found
-        idBasedContingencyListRepository.save(idBasedContingencyListRepository.getReferenceById(id).update(idBasedContingencyList));
+        IdBasedContingencyListEntity entity = idBasedContingencyListRepository.getReferenceById(id);
+        // replaced contingencies, as well as the ones of a list compacted by the update, are only unlinked from the list by the collection update
+        List<IdentifierListEntity> replacedIdentifierLists = new ArrayList<>(entity.getIdentifiersListEntities());
+        idBasedContingencyListRepository.save(compactIfLarge(entity.update(idBasedContingencyList)));
+        identifierListRepository.deleteAll(replacedIdentifierLists);
+        contingencyCountCacheService.invalidate(id);
+        notificationService.emitElementUpdated(id, userId);
+    }
+
+    @Transactional
+    public void modifyIdBasedContingencyListIncrementally(UUID id, IdentifierContingencyListModification modification, String userId) {
+        // throw if not found
+        IdBasedContingencyListEntity entity = idBasedContingencyListRepository.getReferenceById(id);
+        // removed contingencies are only unlinked from the list by the collection update
+        identifierListRepository.deleteAll(entity.modify(modification));
+        contingencyCountCacheService.invalidate(id);
         notificationService.emitElementUpdated(id, userId);
     }
 
@@ -272,6 +664,7 @@ public class ContingencyListService {
     public void modifyFilterBasedContingencyList(UUID id, FilterBasedContingencyList contingencyList, String userId) {
         // throw if not found
         filterBasedContingencyListRepository.save(filterBasedContingencyListRepository.getReferenceById(id).update(contingencyList));
+        contingencyCountCacheService.invalidate(id);
         notificationService.emitElementUpdated(id, userId);
     }
 
@@ -283,15 +676,20 @@ public class ContingencyListService {
             && filterBasedContingencyListRepository.deleteFilterBasedContingencyListEntityById(id) == 0) {
             throw new EmptyResultDataAccessException("No element found", 1);
         }
+        contingencyCountCacheService.invalidate(id);
+    }
+
+    static IdBasedContingencyList fromIdBasedContingencyListEntity(IdBasedContingencyListEntity entity, NetworkElementIndex networkElementIndex) {
+        return fromIdentifierLists(entity, entity.getIdentifierLists(), networkElementIndex);
     }
 
-    private static IdBasedContingencyList fromIdBasedContingencyListEntity(IdBasedContingencyListEntity entity, Network network) {
+    private static IdBasedContingencyList fromIdentifierLists(IdBasedContingencyListEntity entity, List<IdentifierListEntity> identifierLists, NetworkElementIndex networkElementIndex) {
         List<NetworkElementIdentifier> listOfNetworkElementIdentifierList = new ArrayList<>();
         Map<String, Set<String>> notFoundElements = new HashMap<>();
-        entity.getIdentifiersListEntities().forEach(identifierList -> {
+        identifierLists.forEach(identifierList -> {
             List<NetworkElementIdentifier> networkElementIdentifiers = new ArrayList<>();
             identifierList.getEquipmentIds().forEach(equipmentId -> {
-                if (network != null && network.getIdentifiable(equipmentId) == null) {
+                if (networkElementIndex != null && !networkElementIndex.contains(equipmentId)) {
                     Set<String> ids = notFoundElements.computeIfAbsent(identifierList.getName(), k -> new HashSet<>());
                     ids.add(equipmentId);
                 }
@@ -314,7 +712,32 @@ public class ContingencyListService {
     public IdBasedContingencyList createIdBasedContingencyList(UUID id, IdBasedContingencyList idBasedContingencyList) {
         IdBasedContingencyListEntity entity = new IdBasedContingencyListEntity(idBasedContingencyList);
         entity.setId(id == null ? UUID.randomUUID() : id);
-        return fromIdBasedContingencyListEntity(idBasedContingencyListRepository.save(entity), null);
+        return fromIdBasedContingencyListEntity(idBasedContingencyListRepository.save(compactIfLarge(entity)), null);
+    }
+
+    private IdBasedContingencyListEntity compactIfLarge(IdBasedContingencyListEntity entity) {
+        if (compactStorageMinContingencies > 0 && entity.getIdentifiersListEntities().size() >= compactStorageMinContingencies) {
+            entity.compact();
+        }
+        return entity;
+    }
+
+    /**
+     * Create many identifier lists at once, rows being written by JDBC batches. Returns the created ids, in the given lists order.
+     */
+    @Transactional
+    public List<UUID> importIdBasedContingencyLists(List<IdBasedContingencyList> idBasedContingencyLists) {
+        Instant modificationDate = Instant.now();
+        List<IdBasedContingencyListEntity> entities = idBasedContingencyLists.stream().map(idBasedContingencyList -> {
+            IdBasedContingencyListEntity entity = new IdBasedContingencyListEntity(idBasedContingencyList);
+            entity.setId(UUID.randomUUID());
+            entity.setModificationDate(modificationDate);
+            return compactIfLarge(entity);
+        }).toList();
+        int nbContingencies = entities.stream().mapToInt(entity -> entity.getIdentifierLists().size()).sum();
+        idBasedContingencyListBulkRepository.insertAll(entities,
+            nbImported -> LOGGER.info("Imported {}/{} contingencies of {} identifier contingency lists", nbImported, nbContingencies, entities.size()));
+        return entities.stream().map(AbstractContingencyEntity::getId).toList();
     }
 
     public FilterBasedContingencyList createFilterBasedContingencyList(UUID id, FilterBasedContingencyList contingencyList) {
@@ -332,16 +755,19 @@ public class ContingencyListService {
         Objects.requireNonNull(ids);
 
         List<AbstractContingencyList> result = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return result;
+        }
 
         // Get all id based contingency lists
-        List<AbstractContingencyList> idBasedLists = idBasedContingencyListRepository.findAllById(ids)
+        List<AbstractContingencyList> idBasedLists = idBasedContingencyListRepository.findAllWithIdentifiersByIdIn(ids)
                 .stream()
                 .map(entity -> fromIdBasedContingencyListEntity(entity, null))
                 .collect(Collectors.toList());
         result.addAll(idBasedLists);
 
         // Get all filter based contingency lists
-        List<AbstractContingencyList> filterBasedLists = filterBasedContingencyListRepository.findAllById(ids)
+        List<AbstractContingencyList> filterBasedLists = filterBasedContingencyListRepository.findAllWithFiltersByIdIn(ids)
                 .stream()
                 .map(ContingencyListService::fromFilterBasedContingencyListEntity)
                 .collect(Collectors.toList());
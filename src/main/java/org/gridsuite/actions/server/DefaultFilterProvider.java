@@ -6,28 +6,85 @@
  */
 package org.gridsuite.actions.server;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.gridsuite.actions.FilterProvider;
+import org.gridsuite.actions.server.service.FilterEvaluationMemo;
 import org.gridsuite.actions.server.service.FilterService;
 import org.gridsuite.filter.AbstractFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.*;
 
 /**
+ * Filter definitions are kept in a local cache for a short time, filters used by several
+ * contingency lists being fetched from the filter server once. Missing filters of a call
+ * are fetched together with a single request. A filter is evicted from the cache as soon
+ * as its update is notified.
+ *
  * @author Kevin Le Saulnier <kevin.le-saulnier at rte-france.com>
  */
 @Component
 public class DefaultFilterProvider implements FilterProvider {
 
+    public static final String CACHE_NAME = "filters";
+
     private final FilterService filterService;
 
-    public DefaultFilterProvider(FilterService filterService) {
+    private final Cache<UUID, AbstractFilter> filtersCache;
+
+    public DefaultFilterProvider(FilterService filterService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${gridsuite.filter-cache.max-size:1000}") long maxSize,
+                                 @Value("${gridsuite.filter-cache.time-to-live:1m}") Duration timeToLive) {
         this.filterService = filterService;
+        this.filtersCache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, filtersCache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", filtersCache, cache -> cache.stats().hitRate())
+            .tag("cache", CACHE_NAME)
+            .register(meterRegistry);
     }
 
+    /**
+     * Filters already evaluated for the request if a {@link FilterEvaluationMemo} is bound, their definitions otherwise.
+     */
     @Override
     public List<AbstractFilter> getFilters(List<UUID> filtersUuids) {
-        return filterService.getFilters(filtersUuids);
+        Optional<FilterEvaluationMemo> filterEvaluationMemo = FilterEvaluationMemo.current();
+        if (filterEvaluationMemo.isPresent() && !filtersUuids.isEmpty()) {
+            return filterEvaluationMemo.get().getFilters(filtersUuids, this::getFilterDefinitions);
+        }
+        return getFilterDefinitions(filtersUuids);
+    }
+
+    private List<AbstractFilter> getFilterDefinitions(List<UUID> filtersUuids) {
+        if (filtersUuids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<UUID, AbstractFilter> filters = new HashMap<>(filtersCache.getAllPresent(filtersUuids));
+        List<UUID> missingFiltersUuids = filtersUuids.stream().filter(uuid -> !filters.containsKey(uuid)).distinct().toList();
+        if (!missingFiltersUuids.isEmpty()) {
+            filterService.getFilters(missingFiltersUuids).forEach(filter -> {
+                filters.put(filter.getId(), filter);
+                filtersCache.put(filter.getId(), filter);
+            });
+        }
+        return filtersUuids.stream().map(filters::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Evict the definition of an updated filter, doing nothing if the element is not a cached filter.
+     */
+    public void invalidate(UUID filterUuid) {
+        filtersCache.invalidate(filterUuid);
     }
 }
@@ -0,0 +1,302 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.actions.dto.evaluation.ContingencyListExportResult;
+import org.gridsuite.actions.server.dto.ExportJobInfos;
+import org.gridsuite.actions.server.service.ContingencyListMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Runs contingency list exports in the background, so that large exports do not hold an HTTP request.
+ * Jobs are queued by decreasing priority then submission order, and run by a fixed number of workers. A bounded
+ * number of jobs can wait: further submissions are rejected until the queue drains.
+ * Results are written to a local directory and kept, along with the job, for a limited time after completion.
+ * Jobs are only known by the instance they were submitted to, and are lost if it restarts.
+ */
+@Service
+public class ExportJobService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportJobService.class);
+
+    private static final Duration CLEANUP_PERIOD = Duration.ofMinutes(1);
+
+    private static final String RESULT_FILE_SUFFIX = ".json";
+
+    private final ContingencyListService contingencyListService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ContingencyListMetrics contingencyListMetrics;
+
+    private final Path resultDirectory;
+
+    private final Duration timeToLive;
+
+    private final int queueCapacity;
+
+    private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nbPendingJobs = new AtomicInteger();
+
+    private final AtomicLong submissionSequence = new AtomicLong();
+
+    private final ThreadPoolExecutor workers;
+
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("export-job-cleaner").daemon().factory());
+
+    public ExportJobService(ContingencyListService contingencyListService,
+                            ObjectMapper objectMapper,
+                            ContingencyListMetrics contingencyListMetrics,
+                            @Value("${gridsuite.export-jobs.workers:2}") int nbWorkers,
+                            @Value("${gridsuite.export-jobs.queue-capacity:100}") int queueCapacity,
+                            @Value("${gridsuite.export-jobs.directory:${java.io.tmpdir}/actions-server-export-jobs}") Path resultDirectory,
+                            @Value("${gridsuite.export-jobs.time-to-live:1h}") Duration timeToLive) throws IOException {
+        if (nbWorkers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Export job workers and queue capacity must be strictly positive, got " + nbWorkers + " and " + queueCapacity);
+        }
+        this.contingencyListService = contingencyListService;
+        this.objectMapper = objectMapper;
+        this.contingencyListMetrics = contingencyListMetrics;
+        this.resultDirectory = Files.createDirectories(resultDirectory);
+        this.timeToLive = timeToLive;
+        this.queueCapacity = queueCapacity;
+        // only PrioritizedJob instances are executed, FutureTask wrappers of submit() would not be comparable
+        this.workers = new ThreadPoolExecutor(nbWorkers, nbWorkers, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+                Thread.ofPlatform().name("export-job-", 0).factory());
+        // otherwise the first jobs would be handed to new workers without going through the queue and its priority order
+        this.workers.prestartAllCoreThreads();
+        contingencyListMetrics.registerExportJobsQueue(nbPendingJobs);
+        cleaner.scheduleWithFixedDelay(this::removeExpiredJobs, CLEANUP_PERIOD.toMillis(), CLEANUP_PERIOD.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public ExportJobInfos submit(List<UUID> contingencyListIds, UUID networkUuid, String variantId, int priority) {
+        if (nbPendingJobs.incrementAndGet() > queueCapacity) {
+            nbPendingJobs.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many pending export jobs, retry later");
+        }
+        ExportJob job = new ExportJob(UUID.randomUUID(), List.copyOf(contingencyListIds), networkUuid, variantId, priority, Instant.now());
+        jobs.put(job.id, job);
+        workers.execute(new PrioritizedJob(job, submissionSequence.getAndIncrement()));
+        return job.toInfos();
+    }
+
+    public Optional<ExportJobInfos> getJob(UUID id) {
+        return findJob(id).map(ExportJob::toInfos);
+    }
+
+    /**
+     * Path of the result of a succeeded job, empty if the job is unknown or expired.
+     */
+    public Optional<Path> getResult(UUID id) {
+        return findJob(id).map(job -> {
+            if (job.getStatus() != ExportJobInfos.Status.SUCCEEDED) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Export job " + id + " is " + job.getStatus());
+            }
+            return getResultPath(id);
+        });
+    }
+
+    /**
+     * Forget a job: a pending one will not run, the result of a running one is dropped.
+     */
+    public boolean deleteJob(UUID id) {
+        ExportJob job = jobs.remove(id);
+        if (job == null) {
+            return false;
+        }
+        deleteResult(id);
+        return true;
+    }
+
+    private Optional<ExportJob> findJob(UUID id) {
+        return Optional.ofNullable(jobs.get(Objects.requireNonNull(id))).filter(job -> !job.isExpired(Instant.now()));
+    }
+
+    private void run(ExportJob job) {
+        nbPendingJobs.decrementAndGet();
+        if (!jobs.containsKey(job.id)) {
+            return;
+        }
+        Instant startDate = Instant.now();
+        contingencyListMetrics.recordExportJobWait(Duration.between(job.submissionDate, startDate));
+        job.start(startDate);
+        Path tmpPath = null;
+        try {
+            ContingencyListExportResult result = contingencyListService.exportContingencyList(job.contingencyListIds, job.networkUuid, job.variantId);
+            // written aside then moved, so that a partial result is never downloaded
+            tmpPath = Files.createTempFile(resultDirectory, job.id.toString(), ".tmp");
+            objectMapper.writerFor(ContingencyListExportResult.class).writeValue(tmpPath.toFile(), result);
+            Files.move(tmpPath, getResultPath(job.id), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Instant completionDate = Instant.now();
+            job.complete(ExportJobInfos.Status.SUCCEEDED, completionDate, completionDate.plus(timeToLive), null);
+        } catch (Exception e) {
+            LOGGER.warn("Export job {} failed", job.id, e);
+            if (tmpPath != null) {
+                // partial result, not moved
+                deleteIfExists(tmpPath);
+            }
+            Instant completionDate = Instant.now();
+            job.complete(ExportJobInfos.Status.FAILED, completionDate, completionDate.plus(timeToLive),
+                    e instanceof ResponseStatusException responseStatusException ? responseStatusException.getReason() : e.getMessage());
+        }
+        if (!jobs.containsKey(job.id)) {
+            // deleted while running
+            deleteResult(job.id);
+        }
+    }
+
+    private void removeExpiredJobs() {
+        Instant now = Instant.now();
+        jobs.values().removeIf(job -> {
+            if (job.isExpired(now)) {
+                deleteResult(job.id);
+                return true;
+            }
+            return false;
+        });
+        // results left by a previous run of this server, whose jobs are lost
+        FileTime oldestKept = FileTime.from(now.minus(timeToLive));
+        try (Stream<Path> paths = Files.list(resultDirectory)) {
+            paths.filter(path -> isOlderThan(path, oldestKept)).forEach(ExportJobService::deleteIfExists);
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.warn("Unable to clean export job results directory {}", resultDirectory, e);
+        }
+    }
+
+    private static boolean isOlderThan(Path path, FileTime time) {
+        try {
+            return Files.getLastModifiedTime(path).compareTo(time) < 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path getResultPath(UUID id) {
+        return resultDirectory.resolve(id + RESULT_FILE_SUFFIX);
+    }
+
+    private void deleteResult(UUID id) {
+        deleteIfExists(getResultPath(id));
+    }
+
+    private static void deleteIfExists(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete export job result {}", path, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private final class PrioritizedJob implements Runnable, Comparable<PrioritizedJob> {
+
+        private final ExportJob job;
+
+        private final long sequence;
+
+        private PrioritizedJob(ExportJob job, long sequence) {
+            this.job = job;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            ExportJobService.this.run(job);
+        }
+
+        @Override
+        public int compareTo(PrioritizedJob other) {
+            int cmp = Integer.compare(other.job.priority, job.priority);
+            return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static final class ExportJob {
+
+        private final UUID id;
+
+        private final List<UUID> contingencyListIds;
+
+        private final UUID networkUuid;
+
+        private final String variantId;
+
+        private final int priority;
+
+        private final Instant submissionDate;
+
+        private ExportJobInfos.Status status = ExportJobInfos.Status.PENDING;
+
+        private Instant startDate;
+
+        private Instant completionDate;
+
+        private Instant expirationDate;
+
+        private String errorMessage;
+
+        private ExportJob(UUID id, List<UUID> contingencyListIds, UUID networkUuid, String variantId, int priority, Instant submissionDate) {
+            this.id = id;
+            this.contingencyListIds = contingencyListIds;
+            this.networkUuid = networkUuid;
+            this.variantId = variantId;
+            this.priority = priority;
+            this.submissionDate = submissionDate;
+        }
+
+        private synchronized ExportJobInfos.Status getStatus() {
+            return status;
+        }
+
+        private synchronized void start(Instant startDate) {
+            this.status = ExportJobInfos.Status.RUNNING;
+            this.startDate = startDate;
+        }
+
+        private synchronized void complete(ExportJobInfos.Status status, Instant completionDate, Instant expirationDate, String errorMessage) {
+            this.status = status;
+            this.completionDate = completionDate;
+            this.expirationDate = expirationDate;
+            this.errorMessage = errorMessage;
+        }
+
+        private synchronized boolean isExpired(Instant now) {
+            return expirationDate != null && !expirationDate.isAfter(now);
+        }
+
+        private synchronized ExportJobInfos toInfos() {
+            return new ExportJobInfos(id, status, priority, submissionDate, startDate, completionDate, expirationDate, errorMessage);
+        }
+    }
+}
@@ -7,18 +7,23 @@
 package org.gridsuite.actions.server;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.gridsuite.actions.dto.ContingencyListMetadata;
+import org.gridsuite.actions.server.service.NetworkCacheService;
+import org.gridsuite.actions.server.service.RequestCoalescer;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * @author Radouane KHOUADRI {@literal <redouane.khouadri_externe at rte-france.com>}
@@ -31,14 +36,64 @@ public class SupervisionController {
 
     private final ContingencyListService service;
 
-    public SupervisionController(ContingencyListService service) {
+    private final NetworkCacheService networkCacheService;
+
+    private final RequestCoalescer requestCoalescer;
+
+    public SupervisionController(ContingencyListService service, NetworkCacheService networkCacheService, RequestCoalescer requestCoalescer) {
         this.service = service;
+        this.networkCacheService = networkCacheService;
+        this.requestCoalescer = requestCoalescer;
     }
 
     @GetMapping(value = "/contingency-lists", produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Get all contingency lists metadata")
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "All contingency lists metadata")})
-    public ResponseEntity<List<ContingencyListMetadata>> getContingencyListsMetadata() {
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(service.getContingencyListsMetadata());
+    @Operation(summary = "Get contingency lists metadata ordered by modification date then id, all of them or a page following the given list")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The contingency lists metadata"),
+                           @ApiResponse(responseCode = "400", description = "afterModificationDate is given without afterId")})
+    public ResponseEntity<List<ContingencyListMetadata>> getContingencyListsMetadata(
+            @Parameter(description = "Maximum number of returned lists, all of them if not given") @RequestParam(value = "limit", required = false) Integer limit,
+            @Parameter(description = "Modification date of the last list of the previous page, not given if this list has no modification date") @RequestParam(value = "afterModificationDate", required = false) Instant afterModificationDate,
+            @Parameter(description = "Id of the last list of the previous page") @RequestParam(value = "afterId", required = false) UUID afterId) {
+        if (afterModificationDate != null && afterId == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "afterModificationDate requires afterId");
+        }
+        if (limit != null && limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be strictly positive");
+        }
+        if (limit == null && afterId == null) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(service.getContingencyListsMetadata());
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(service.getContingencyListsMetadata(afterModificationDate, afterId, limit != null ? limit : Integer.MAX_VALUE));
+    }
+
+    @DeleteMapping(value = "/network-cache")
+    @Operation(summary = "Evict loaded networks from the cache, all of them or only the variants of the given network")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The networks have been evicted from the cache")})
+    public ResponseEntity<Void> invalidateNetworkCache(@RequestParam(value = "networkUuid", required = false) UUID networkUuid) {
+        if (networkUuid == null) {
+            networkCacheService.invalidateAll();
+        } else {
+            networkCacheService.invalidate(networkUuid);
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping(value = "/in-flight-computations/count")
+    @Operation(summary = "Get the number of count and export computations in progress, identical requests sharing the same computation")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The number of computations in progress")})
+    public ResponseEntity<Integer> getInFlightComputationsCount() {
+        return ResponseEntity.ok().body(requestCoalescer.getInFlightComputationsCount());
+    }
+
+    @DeleteMapping(value = "/in-flight-computations")
+    @Operation(summary = "Cancel the count and export computations in progress, all of them or only the ones of the given network or variant")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The number of cancelled computations")})
+    public ResponseEntity<Integer> cancelInFlightComputations(@RequestParam(value = "networkUuid", required = false) UUID networkUuid,
+                                                              @RequestParam(value = "variantId", required = false) String variantId) {
+        if (networkUuid == null && variantId != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "variantId requires networkUuid");
+        }
+        return ResponseEntity.ok().body(requestCoalescer.cancel(networkUuid, variantId));
     }
 }
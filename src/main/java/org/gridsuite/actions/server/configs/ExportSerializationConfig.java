@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.gridsuite.actions.dto.evaluation.ContingencyInfos;
+import org.gridsuite.actions.dto.evaluation.ContingencyListExportResult;
+import org.gridsuite.actions.server.service.ContingencyListMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Export results may also be sent in the Smile binary format, negotiated with the Accept header, in which repeated
+ * property names and string values such as element types and equipment ids are written once then referenced.
+ * The serialization time and size of the export results are recorded in both formats. Export results are streamed
+ * to the response as they are serialized, so the recorded time includes the time spent writing them to the client.
+ */
+@Configuration
+public class ExportSerializationConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    static final String EXPORT_PAYLOAD = "export";
+    static final String CONTINGENCY_INFOS_PAYLOAD = "contingency-infos";
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper, ContingencyListMetrics contingencyListMetrics) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+                writeMetered(contingencyListMetrics, "json", type, outputMessage, message -> super.writeInternal(object, type, message));
+            }
+        };
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder, ContingencyListMetrics contingencyListMetrics) {
+        ObjectMapper smileMapper = objectMapperBuilder.createXmlMapper(false)
+                .factory(new SmileFactory().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES))
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper) {
+            @Override
+            protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+                writeMetered(contingencyListMetrics, "smile", type, outputMessage, message -> super.writeInternal(object, type, message));
+            }
+        };
+    }
+
+    private static void writeMetered(ContingencyListMetrics contingencyListMetrics, String format, @Nullable Type type,
+                                     HttpOutputMessage outputMessage, MessageWriter writer) throws IOException {
+        String payload = getExportPayload(type);
+        if (payload == null) {
+            writer.write(outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        CountingOutputStream body = new CountingOutputStream(outputMessage.getBody());
+        writer.write(new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        contingencyListMetrics.recordSerialization(payload, format, System.nanoTime() - start, body.getCount());
+    }
+
+    @Nullable
+    private static String getExportPayload(@Nullable Type type) {
+        if (type == null) {
+            return null;
+        }
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        if (ContingencyListExportResult.class.equals(resolvableType.resolve())) {
+            return EXPORT_PAYLOAD;
+        }
+        if (ContingencyInfos.class.equals(resolvableType.asCollection().resolveGeneric(0))) {
+            return CONTINGENCY_INFOS_PAYLOAD;
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface MessageWriter {
+        void write(HttpOutputMessage outputMessage) throws IOException;
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        private long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * State of an asynchronous export. The result can be downloaded once succeeded, until the expiration date.
+ */
+public record ExportJobInfos(
+        UUID id,
+        Status status,
+        int priority,
+        Instant submissionDate,
+        Instant startDate,
+        Instant completionDate,
+        Instant expirationDate,
+        String errorMessage
+) {
+    public enum Status {
+        PENDING,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+}
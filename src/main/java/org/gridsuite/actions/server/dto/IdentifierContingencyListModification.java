@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Changes to apply to an identifier contingency list, contingencies being designated by their name.
+ * Removals are applied first, then renamings, equipment changes and finally additions at the end of the list.
+ * Each change designates contingencies by their name once the previous changes are applied: equipment changes of a
+ * renamed contingency use its new name. A contingency cannot be renamed or added with the name of another one.
+ */
+public record IdentifierContingencyListModification(
+        List<String> removedContingencies,
+        Map<String, String> renamedContingencies,
+        Map<String, Set<String>> addedEquipmentIds,
+        Map<String, Set<String>> removedEquipmentIds,
+        List<AddedContingency> addedContingencies
+) {
+    public record AddedContingency(String name, Set<String> equipmentIds) { }
+}
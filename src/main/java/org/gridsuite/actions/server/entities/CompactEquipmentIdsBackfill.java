@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.entities;
+
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Fill the equipment ids lookup of the identifier lists compacted before it existed, the equipment ids of a compact
+ * list being only readable by decoding its compact column.
+ */
+public class CompactEquipmentIdsBackfill implements CustomTaskChange {
+
+    private int nbBackfilledLists;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (Statement select = connection.createStatement();
+             ResultSet compactLists = select.executeQuery("SELECT l.id, l.compact_identifiers FROM id_based_contingency_list l" +
+                     " WHERE l.compact_identifiers IS NOT NULL" +
+                     " AND NOT EXISTS (SELECT 1 FROM id_based_contingency_list_compact_equipment_ids e WHERE e.id_based_contingency_list_id = l.id)");
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO id_based_contingency_list_compact_equipment_ids" +
+                     " (id_based_contingency_list_id, equipment_id) VALUES (?, ?)")) {
+            while (compactLists.next()) {
+                UUID id = compactLists.getObject(1, UUID.class);
+                Set<String> equipmentIds = new LinkedHashSet<>();
+                CompactIdentifierLists.decode(compactLists.getBytes(2)).forEach(identifierList -> equipmentIds.addAll(identifierList.getEquipmentIds()));
+                for (String equipmentId : equipmentIds) {
+                    insert.setObject(1, id);
+                    insert.setString(2, equipmentId);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                nbBackfilledLists++;
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException(e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Equipment ids of " + nbBackfilledLists + " compact identifier lists backfilled";
+    }
+
+    @Override
+    public void setUp() {
+        // nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // no file needed
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
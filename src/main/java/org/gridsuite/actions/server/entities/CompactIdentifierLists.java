@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.entities;
+
+import com.powsybl.commons.PowsyblException;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary format of the contingencies of an identifier list, stored in a single column instead of one row
+ * per contingency and per equipment. Once inflated, the blob is made of:
+ * <ul>
+ *     <li>the format version,</li>
+ *     <li>the dictionary of the distinct equipment ids,</li>
+ *     <li>the offset of each contingency in the contingencies section,</li>
+ *     <li>the contingencies section: for each contingency its name and the dictionary indexes of its equipments.</li>
+ * </ul>
+ * Counts and indexes are variable length integers. Contingencies are only decoded when accessed.
+ */
+public final class CompactIdentifierLists {
+
+    private static final int VERSION = 1;
+
+    private CompactIdentifierLists() {
+    }
+
+    public static byte[] encode(List<IdentifierListEntity> identifierLists) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        ByteArrayOutputStream contingencies = new ByteArrayOutputStream();
+        int[] offsets = new int[identifierLists.size()];
+        try {
+            DataOutputStream contingenciesOutput = new DataOutputStream(contingencies);
+            for (int i = 0; i < identifierLists.size(); i++) {
+                IdentifierListEntity identifierList = identifierLists.get(i);
+                offsets[i] = contingenciesOutput.size();
+                contingenciesOutput.writeUTF(identifierList.getName());
+                writeVarInt(contingenciesOutput, identifierList.getEquipmentIds().size());
+                for (String equipmentId : identifierList.getEquipmentIds()) {
+                    writeVarInt(contingenciesOutput, dictionary.computeIfAbsent(equipmentId, k -> dictionary.size()));
+                }
+            }
+
+            ByteArrayOutputStream blob = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(blob))) {
+                writeVarInt(output, VERSION);
+                writeVarInt(output, dictionary.size());
+                for (String equipmentId : dictionary.keySet()) {
+                    output.writeUTF(equipmentId);
+                }
+                writeVarInt(output, offsets.length);
+                for (int offset : offsets) {
+                    output.writeInt(offset);
+                }
+                contingencies.writeTo(output);
+            }
+            return blob.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The returned list is not modifiable, and decodes a contingency each time it is accessed.
+     */
+    public static List<IdentifierListEntity> decode(byte[] blob) {
+        try (InflaterInputStream input = new InflaterInputStream(new ByteArrayInputStream(blob))) {
+            byte[] bytes = input.readAllBytes();
+            ByteArrayInputStream bytesInput = new ByteArrayInputStream(bytes);
+            DataInputStream dataInput = new DataInputStream(bytesInput);
+            int version = readVarInt(dataInput);
+            if (version != VERSION) {
+                throw new PowsyblException("Unsupported compact identifier lists version " + version);
+            }
+            String[] dictionary = new String[readVarInt(dataInput)];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = dataInput.readUTF();
+            }
+            int[] offsets = new int[readVarInt(dataInput)];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = dataInput.readInt();
+            }
+            return new DecodedIdentifierLists(bytes, bytes.length - bytesInput.available(), dictionary, offsets);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeVarInt(DataOutput output, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    private static int readVarInt(DataInput input) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static final class DecodedIdentifierLists extends AbstractList<IdentifierListEntity> implements RandomAccess {
+
+        private final byte[] bytes;
+
+        private final int contingenciesStart;
+
+        private final String[] dictionary;
+
+        private final int[] offsets;
+
+        private DecodedIdentifierLists(byte[] bytes, int contingenciesStart, String[] dictionary, int[] offsets) {
+            this.bytes = bytes;
+            this.contingenciesStart = contingenciesStart;
+            this.dictionary = dictionary;
+            this.offsets = offsets;
+        }
+
+        @Override
+        public IdentifierListEntity get(int index) {
+            int start = contingenciesStart + offsets[index];
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes, start, bytes.length - start));
+            try {
+                String name = input.readUTF();
+                int nbEquipments = readVarInt(input);
+                Set<String> equipmentIds = new LinkedHashSet<>();
+                for (int i = 0; i < nbEquipments; i++) {
+                    equipmentIds.add(dictionary[readVarInt(input)]);
+                }
+                return new IdentifierListEntity(null, name, equipmentIds);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public int size() {
+            return offsets.length;
+        }
+    }
+}
@@ -11,6 +11,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.gridsuite.actions.dto.contingency.FilterBasedContingencyList;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.springframework.util.CollectionUtils;
 
 import java.util.ArrayList;
@@ -25,7 +27,7 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "filter_based_contingency_list")
+@Table(name = "filter_based_contingency_list", indexes = {@Index(name = "filterBasedContingencyList_modificationDate_idx1", columnList = "modification_date, id")})
 public class FilterBasedContingencyListEntity extends AbstractContingencyEntity {
 
     @Column(name = "filter_ids")
@@ -38,6 +40,7 @@ public class FilterBasedContingencyListEntity extends AbstractContingencyEntity
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
     @JoinColumn(name = "filter_based_contingency_list_id", referencedColumnName = "id",
         foreignKey = @ForeignKey(name = "filter_based_contingency_list_selected_equipment_types_by_filter_fk"))
+    @Fetch(FetchMode.SUBSELECT)
     private List<EquipmentTypesByFilterEntity> selectedEquipmentTypesByFilter;
 
     public FilterBasedContingencyListEntity(FilterBasedContingencyList contingencyList) {
@@ -14,11 +14,11 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.gridsuite.actions.dto.contingency.IdBasedContingencyList;
+import org.gridsuite.actions.server.dto.IdentifierContingencyListModification;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.time.Instant;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -27,13 +27,27 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @Getter
 @Entity
-@Table(name = "id_based_contingency_list")
+@Table(name = "id_based_contingency_list", indexes = {@Index(name = "idBasedContingencyList_modificationDate_idx1", columnList = "modification_date, id")})
 public class IdBasedContingencyListEntity extends AbstractContingencyEntity {
 
     @OneToMany(cascade = CascadeType.ALL)
     @OrderColumn(name = "identifier_order")
     private List<IdentifierListEntity> identifiersListEntities;
 
+    // contingencies in the CompactIdentifierLists format, identifiersListEntities being then empty
+    @Column(name = "compact_identifiers")
+    private byte[] compactIdentifiers;
+
+    // distinct equipment ids of a compact list, which cannot be looked up in compactIdentifiers, empty if not compact
+    @ElementCollection
+    @CollectionTable(name = "id_based_contingency_list_compact_equipment_ids",
+            joinColumns = @JoinColumn(name = "id_based_contingency_list_id"),
+            foreignKey = @ForeignKey(name = "idBasedContingencyList_compactEquipmentIds_fk1"),
+            indexes = {@Index(name = "idBasedContingencyList_compactEquipmentIds_idx1", columnList = "id_based_contingency_list_id"),
+                       @Index(name = "idBasedContingencyList_compactEquipmentIds_idx2", columnList = "equipment_id, id_based_contingency_list_id")})
+    @Column(name = "equipment_id")
+    private Set<String> compactEquipmentIds = new HashSet<>();
+
     public IdBasedContingencyListEntity(IdBasedContingencyList idBasedContingencyList) {
         super();
         init(idBasedContingencyList.getIdentifierContingencyList());
@@ -45,6 +59,8 @@ public class IdBasedContingencyListEntity extends AbstractContingencyEntity {
         }
 
         this.identifiersListEntities = new ArrayList<>();
+        this.compactIdentifiers = null;
+        this.compactEquipmentIds.clear();
         identifierContingencyList.getIdentifiants().forEach(networkElementIdentifier -> {
             List<NetworkElementIdentifier> identifierList = ((NetworkElementIdentifierContingencyList) networkElementIdentifier).getNetworkElementIdentifiers();
             String contingencyName = networkElementIdentifier.getContingencyId().isPresent() ? networkElementIdentifier.getContingencyId().get() : "";
@@ -61,4 +77,94 @@ public class IdBasedContingencyListEntity extends AbstractContingencyEntity {
         init(idBasedContingencyList.getIdentifierContingencyList());
         return this;
     }
+
+    public boolean isCompact() {
+        return compactIdentifiers != null;
+    }
+
+    /**
+     * Store the contingencies in a single compact column instead of one row per contingency and per equipment.
+     */
+    public void compact() {
+        if (!isCompact()) {
+            setCompactIdentifiers(identifiersListEntities);
+            identifiersListEntities.clear();
+        }
+    }
+
+    /**
+     * The contingencies, whatever the storage format. Contingencies decoded from the compact format have no id.
+     */
+    public List<IdentifierListEntity> getIdentifierLists() {
+        return isCompact() ? CompactIdentifierLists.decode(compactIdentifiers) : identifiersListEntities;
+    }
+
+    /**
+     * Apply the changes to the existing contingencies instead of replacing all of them, so that the rows of unchanged
+     * contingencies are kept. Removing a contingency still rewrites the order of all the following ones in the join table.
+     * Contingency names must stay unique: renaming or adding a contingency to a name already used is rejected.
+     * Returns the removed contingencies, which are not deleted by removing them from the list.
+     * A compact list is decoded, modified and encoded again, and has no removed contingency rows.
+     */
+    public List<IdentifierListEntity> modify(IdentifierContingencyListModification modification) {
+        List<IdentifierListEntity> identifierLists = isCompact() ? new ArrayList<>(getIdentifierLists()) : identifiersListEntities;
+        List<IdentifierListEntity> removedIdentifierLists = new ArrayList<>();
+        Optional.ofNullable(modification.removedContingencies()).orElse(List.of())
+                .forEach(name -> {
+                    IdentifierListEntity identifierList = getIdentifierList(identifierLists, name);
+                    identifierLists.remove(identifierList);
+                    removedIdentifierLists.add(identifierList);
+                });
+        Optional.ofNullable(modification.renamedContingencies()).orElse(Map.of())
+                .forEach((name, newName) -> {
+                    IdentifierListEntity identifierList = getIdentifierList(identifierLists, name);
+                    if (!name.equals(newName)) {
+                        identifierList.setName(checkNewContingencyName(identifierLists, newName));
+                    }
+                });
+        Optional.ofNullable(modification.addedEquipmentIds()).orElse(Map.of())
+                .forEach((name, equipmentIds) -> getIdentifierList(identifierLists, name).getEquipmentIds().addAll(equipmentIds));
+        Optional.ofNullable(modification.removedEquipmentIds()).orElse(Map.of())
+                .forEach((name, equipmentIds) -> getIdentifierList(identifierLists, name).getEquipmentIds().removeAll(equipmentIds));
+        Optional.ofNullable(modification.addedContingencies()).orElse(List.of())
+                .forEach(contingency -> identifierLists.add(new IdentifierListEntity(UUID.randomUUID(),
+                        checkNewContingencyName(identifierLists, contingency.name()), new HashSet<>(Optional.ofNullable(contingency.equipmentIds()).orElse(Set.of())))));
+
+        if (identifierLists.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Contingency list " + getId() + " empty");
+        }
+        if (identifierLists.stream().anyMatch(identifierList -> identifierList.getEquipmentIds().isEmpty())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one contingency is partially defined for the contingency list " + getId());
+        }
+        // the list row itself is not modified, auditing would not update its modification date
+        setModificationDate(Instant.now());
+        if (isCompact()) {
+            setCompactIdentifiers(identifierLists);
+            return List.of();
+        }
+        return removedIdentifierLists;
+    }
+
+    private void setCompactIdentifiers(List<IdentifierListEntity> identifierLists) {
+        compactIdentifiers = CompactIdentifierLists.encode(identifierLists);
+        compactEquipmentIds.clear();
+        identifierLists.forEach(identifierList -> compactEquipmentIds.addAll(identifierList.getEquipmentIds()));
+    }
+
+    private IdentifierListEntity getIdentifierList(List<IdentifierListEntity> identifierLists, String name) {
+        return identifierLists.stream()
+                .filter(identifierList -> identifierList.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Contingency " + name + " not found in contingency list " + getId()));
+    }
+
+    private String checkNewContingencyName(List<IdentifierListEntity> identifierLists, String name) {
+        if (name == null || name.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one contingency is partially defined for the contingency list " + getId());
+        }
+        if (identifierLists.stream().anyMatch(identifierList -> identifierList.getName().equals(name))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Contingency " + name + " already exists in contingency list " + getId());
+        }
+        return name;
+    }
 }
@@ -10,6 +10,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import java.util.Set;
 import java.util.UUID;
 
@@ -26,12 +27,13 @@ public class IdentifierListEntity {
     @Column(name = "id")
     private UUID id;
 
+    @Setter
     @Column(name = "name")
     private String name;
 
     @Column(name = "equipmentIds")
     @ElementCollection
     @CollectionTable(foreignKey = @ForeignKey(name = "identifierListEntity_equipmentIds_fk1"), indexes = {@Index(name = "identifierListEntity_equipmentIds_idx1", columnList =
-            "identifier_list_entity_id")})
+            "identifier_list_entity_id"), @Index(name = "identifierListEntity_equipmentIds_idx2", columnList = "equipment_ids, identifier_list_entity_id")})
     Set<String> equipmentIds;
 }
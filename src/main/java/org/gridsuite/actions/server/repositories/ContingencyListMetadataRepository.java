@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.repositories;
+
+import org.gridsuite.actions.server.entities.IdBasedContingencyListEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the metadata of contingency lists of any type, without loading the entities.
+ */
+@Repository
+public interface ContingencyListMetadataRepository extends org.springframework.data.repository.Repository<IdBasedContingencyListEntity, UUID> {
+
+    // each row is (id, type name, modification date)
+    @Query("SELECT c.id, 'IDENTIFIERS', c.modificationDate FROM IdBasedContingencyListEntity c WHERE c.id IN :ids "
+            + "UNION ALL "
+            + "SELECT c.id, 'FILTERS', c.modificationDate FROM FilterBasedContingencyListEntity c WHERE c.id IN :ids")
+    List<Object[]> findMetadataByIdIn(@Param("ids") Collection<UUID> ids);
+}
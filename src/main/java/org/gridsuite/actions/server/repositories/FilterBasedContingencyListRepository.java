@@ -6,10 +6,18 @@
  */
 package org.gridsuite.actions.server.repositories;
 
+import org.gridsuite.actions.server.dto.ContingencyListMetadataProjection;
 import org.gridsuite.actions.server.entities.FilterBasedContingencyListEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -19,4 +27,24 @@ import java.util.UUID;
 @Repository
 public interface FilterBasedContingencyListRepository extends JpaRepository<FilterBasedContingencyListEntity, UUID> {
     Integer deleteFilterBasedContingencyListEntityById(UUID id);
+
+    // selected equipment types are loaded by a single subselect for all the returned lists
+    @EntityGraph(attributePaths = {"filtersIds"})
+    List<FilterBasedContingencyListEntity> findAllWithFiltersByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT new org.gridsuite.actions.server.dto.ContingencyListMetadataProjection(c.id, c.modificationDate) FROM FilterBasedContingencyListEntity c "
+            + "ORDER BY c.modificationDate NULLS LAST, c.id")
+    List<ContingencyListMetadataProjection> findMetadata(Limit limit);
+
+    // keyset pagination: lists following the given (modificationDate, id) in the metadata order, lists without modification date coming last
+    @Query("SELECT new org.gridsuite.actions.server.dto.ContingencyListMetadataProjection(c.id, c.modificationDate) FROM FilterBasedContingencyListEntity c "
+            + "WHERE c.modificationDate > :modificationDate OR (c.modificationDate = :modificationDate AND c.id > :id) OR c.modificationDate IS NULL "
+            + "ORDER BY c.modificationDate NULLS LAST, c.id")
+    List<ContingencyListMetadataProjection> findMetadataAfter(@Param("modificationDate") Instant modificationDate, @Param("id") UUID id, Limit limit);
+
+    // keyset pagination following a list without modification date: only lists without modification date can follow it
+    @Query("SELECT new org.gridsuite.actions.server.dto.ContingencyListMetadataProjection(c.id, c.modificationDate) FROM FilterBasedContingencyListEntity c "
+            + "WHERE c.modificationDate IS NULL AND c.id > :id "
+            + "ORDER BY c.id")
+    List<ContingencyListMetadataProjection> findMetadataWithoutModificationDateAfter(@Param("id") UUID id, Limit limit);
 }
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.repositories;
+
+import org.gridsuite.actions.server.entities.IdBasedContingencyListEntity;
+import org.gridsuite.actions.server.entities.IdentifierListEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Inserts identifier contingency lists with JDBC batches instead of one statement per row.
+ * Entities must have their ids and modification date already set.
+ */
+@Repository
+public class IdBasedContingencyListBulkRepository {
+
+    private static final String INSERT_CONTINGENCY_LIST = "INSERT INTO id_based_contingency_list (id, modification_date, compact_identifiers) VALUES (?, ?, ?)";
+    private static final String INSERT_IDENTIFIER_LIST = "INSERT INTO identifier_list (id, name) VALUES (?, ?)";
+    private static final String INSERT_CONTINGENCY_LIST_IDENTIFIER_LIST = "INSERT INTO id_based_contingency_list_identifiers_list_entities "
+            + "(id_based_contingency_list_entity_id, identifiers_list_entities_id, identifier_order) VALUES (?, ?, ?)";
+    private static final String INSERT_EQUIPMENT_ID = "INSERT INTO identifier_list_entity_equipment_ids (identifier_list_entity_id, equipment_ids) VALUES (?, ?)";
+    private static final String INSERT_COMPACT_EQUIPMENT_ID = "INSERT INTO id_based_contingency_list_compact_equipment_ids (id_based_contingency_list_id, equipment_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    public IdBasedContingencyListBulkRepository(JdbcTemplate jdbcTemplate,
+                                                @Value("${gridsuite.contingency-lists.import.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Insert the lists with the equipment ids of the compact ones, then the contingencies and equipment ids of the lists not in the compact format, progressConsumer being given
+     * the number of contingencies inserted so far after each batch of contingencies.
+     */
+    public void insertAll(List<IdBasedContingencyListEntity> entities, IntConsumer progressConsumer) {
+        jdbcTemplate.batchUpdate(INSERT_CONTINGENCY_LIST, entities, batchSize, (ps, entity) -> {
+            ps.setObject(1, entity.getId());
+            ps.setTimestamp(2, Timestamp.from(entity.getModificationDate()));
+            ps.setBytes(3, entity.getCompactIdentifiers());
+        });
+        List<Object[]> compactEquipmentIds = new ArrayList<>();
+        entities.forEach(entity -> entity.getCompactEquipmentIds().forEach(equipmentId -> compactEquipmentIds.add(new Object[] {entity.getId(), equipmentId})));
+        jdbcTemplate.batchUpdate(INSERT_COMPACT_EQUIPMENT_ID, compactEquipmentIds, batchSize, (ps, equipmentId) -> {
+            ps.setObject(1, equipmentId[0]);
+            ps.setString(2, (String) equipmentId[1]);
+        });
+
+        List<ContingencyRow> contingencies = new ArrayList<>();
+        entities.forEach(entity -> {
+            List<IdentifierListEntity> identifierLists = entity.getIdentifiersListEntities();
+            for (int i = 0; i < identifierLists.size(); i++) {
+                contingencies.add(new ContingencyRow(entity, identifierLists.get(i), i));
+            }
+        });
+        for (int from = 0; from < contingencies.size(); from += batchSize) {
+            List<ContingencyRow> batch = contingencies.subList(from, Math.min(from + batchSize, contingencies.size()));
+            insertContingencies(batch);
+            progressConsumer.accept(from + batch.size());
+        }
+    }
+
+    private void insertContingencies(List<ContingencyRow> contingencies) {
+        jdbcTemplate.batchUpdate(INSERT_IDENTIFIER_LIST, contingencies, batchSize, (ps, contingency) -> {
+            ps.setObject(1, contingency.identifierList().getId());
+            ps.setString(2, contingency.identifierList().getName());
+        });
+        jdbcTemplate.batchUpdate(INSERT_CONTINGENCY_LIST_IDENTIFIER_LIST, contingencies, batchSize, (ps, contingency) -> {
+            ps.setObject(1, contingency.contingencyList().getId());
+            ps.setObject(2, contingency.identifierList().getId());
+            ps.setInt(3, contingency.order());
+        });
+        List<Object[]> equipmentIds = new ArrayList<>();
+        contingencies.forEach(contingency -> contingency.identifierList().getEquipmentIds()
+                .forEach(equipmentId -> equipmentIds.add(new Object[] {contingency.identifierList().getId(), equipmentId})));
+        jdbcTemplate.batchUpdate(INSERT_EQUIPMENT_ID, equipmentIds, batchSize, (ps, equipmentId) -> {
+            ps.setObject(1, equipmentId[0]);
+            ps.setString(2, (String) equipmentId[1]);
+        });
+    }
+
+    private record ContingencyRow(IdBasedContingencyListEntity contingencyList, IdentifierListEntity identifierList, int order) { }
+}
@@ -6,10 +6,19 @@
  */
 package org.gridsuite.actions.server.repositories;
 
+import org.gridsuite.actions.server.dto.ContingencyListMetadataProjection;
 import org.gridsuite.actions.server.entities.IdBasedContingencyListEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -18,4 +27,37 @@ import java.util.UUID;
 @Repository
 public interface IdBasedContingencyListRepository extends JpaRepository<IdBasedContingencyListEntity, UUID> {
     Integer deleteIdBasedContingencyListEntityById(UUID id);
+
+    @EntityGraph(attributePaths = {"identifiersListEntities", "identifiersListEntities.equipmentIds"})
+    List<IdBasedContingencyListEntity> findAllWithIdentifiersByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT new org.gridsuite.actions.server.dto.ContingencyListMetadataProjection(c.id, c.modificationDate) FROM IdBasedContingencyListEntity c "
+            + "ORDER BY c.modificationDate NULLS LAST, c.id")
+    List<ContingencyListMetadataProjection> findMetadata(Limit limit);
+
+    // keyset pagination: lists following the given (modificationDate, id) in the metadata order, lists without modification date coming last
+    @Query("SELECT new org.gridsuite.actions.server.dto.ContingencyListMetadataProjection(c.id, c.modificationDate) FROM IdBasedContingencyListEntity c "
+            + "WHERE c.modificationDate > :modificationDate OR (c.modificationDate = :modificationDate AND c.id > :id) OR c.modificationDate IS NULL "
+            + "ORDER BY c.modificationDate NULLS LAST, c.id")
+    List<ContingencyListMetadataProjection> findMetadataAfter(@Param("modificationDate") Instant modificationDate, @Param("id") UUID id, Limit limit);
+
+    // keyset pagination following a list without modification date: only lists without modification date can follow it
+    @Query("SELECT new org.gridsuite.actions.server.dto.ContingencyListMetadataProjection(c.id, c.modificationDate) FROM IdBasedContingencyListEntity c "
+            + "WHERE c.modificationDate IS NULL AND c.id > :id "
+            + "ORDER BY c.id")
+    List<ContingencyListMetadataProjection> findMetadataWithoutModificationDateAfter(@Param("id") UUID id, Limit limit);
+
+    // (order, name, equipment id) rows of the contingencies of a list having an order in [fromOrder, toOrder), ordered by contingency,
+    // in a transaction of its own when called while streaming
+    @Transactional(readOnly = true)
+    @Query("SELECT index(i), i.name, e FROM IdBasedContingencyListEntity c JOIN c.identifiersListEntities i JOIN i.equipmentIds e "
+            + "WHERE c.id = :id AND index(i) >= :fromOrder AND index(i) < :toOrder ORDER BY index(i)")
+    List<Object[]> findIdentifierRows(@Param("id") UUID id, @Param("fromOrder") int fromOrder, @Param("toOrder") int toOrder);
+
+    // (list id, equipment id) rows of the lists referencing the given equipments, answered from the equipment id indexes
+    @Query("SELECT DISTINCT c.id, e FROM IdBasedContingencyListEntity c JOIN c.identifiersListEntities i JOIN i.equipmentIds e WHERE e IN :equipmentIds")
+    List<Object[]> findIdsByEquipmentIdIn(@Param("equipmentIds") Collection<String> equipmentIds);
+
+    @Query("SELECT DISTINCT c.id, e FROM IdBasedContingencyListEntity c JOIN c.compactEquipmentIds e WHERE e IN :equipmentIds")
+    List<Object[]> findCompactIdsByEquipmentIdIn(@Param("equipmentIds") Collection<String> equipmentIds);
 }
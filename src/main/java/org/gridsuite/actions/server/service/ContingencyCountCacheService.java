@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.gridsuite.actions.server.dto.ContingencyCountByContingencyList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps the contingency count of a list evaluated on a network variant. The list modification date
+ * is part of the key, so that a modified list is never answered from an outdated count. The time
+ * to live bounds staleness regarding network modifications, which are not notified to this server.
+ */
+@Service
+public class ContingencyCountCacheService {
+
+    public static final String CACHE_NAME = "contingency-counts";
+
+    private final Cache<ContingencyCountKey, ContingencyCountByContingencyList> cache;
+
+    public ContingencyCountCacheService(MeterRegistry meterRegistry,
+                                        @Value("${gridsuite.contingency-count-cache.max-size:10000}") long maxSize,
+                                        @Value("${gridsuite.contingency-count-cache.time-to-live:1m}") Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<ContingencyCountByContingencyList> get(UUID contingencyListId, UUID networkUuid, String variantId, Instant modificationDate) {
+        if (networkUuid == null || modificationDate == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(new ContingencyCountKey(contingencyListId, networkUuid, variantId, modificationDate)));
+    }
+
+    public void put(UUID contingencyListId, UUID networkUuid, String variantId, Instant modificationDate, ContingencyCountByContingencyList count) {
+        if (networkUuid != null && modificationDate != null) {
+            cache.put(new ContingencyCountKey(contingencyListId, networkUuid, variantId, modificationDate), count);
+        }
+    }
+
+    public void invalidate(UUID contingencyListId) {
+        cache.asMap().keySet().removeIf(key -> key.contingencyListId().equals(contingencyListId));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private record ContingencyCountKey(UUID contingencyListId, UUID networkUuid, String variantId, Instant modificationDate) { }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.service;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.IdentifiableType;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.identifiers.IdBasedNetworkElementIdentifier;
+import com.powsybl.iidm.network.identifiers.NetworkElementIdentifier;
+import com.powsybl.iidm.network.identifiers.NetworkElementIdentifierContingencyList;
+import org.gridsuite.actions.ContingencyListEvaluator;
+import org.gridsuite.actions.dto.contingency.IdBasedContingencyList;
+import org.gridsuite.actions.dto.contingency.PersistentContingencyList;
+import org.gridsuite.actions.server.dto.ContingencyCountByContingencyList;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Counts the contingencies of a list without building them when possible.
+ * An identifier list whose equipments are all found in the network, as contingency elements, has one contingency per identifier list,
+ * which is checked directly from its identifiers against the network identifiables index. Other identifier lists, whose count depends on
+ * how the evaluator handles their missing or unsupported equipments, and filter based lists, are still evaluated, only the non-null
+ * contingencies being counted.
+ */
+@Service
+public class ContingencyCountEngine {
+
+    // equipment types accepted as contingency elements: other types are left to the evaluator, which reports the error
+    private static final Set<IdentifiableType> CONTINGENCY_ELEMENT_TYPES = EnumSet.of(
+            IdentifiableType.LINE,
+            IdentifiableType.TIE_LINE,
+            IdentifiableType.TWO_WINDINGS_TRANSFORMER,
+            IdentifiableType.THREE_WINDINGS_TRANSFORMER,
+            IdentifiableType.GENERATOR,
+            IdentifiableType.BATTERY,
+            IdentifiableType.LOAD,
+            IdentifiableType.SHUNT_COMPENSATOR,
+            IdentifiableType.STATIC_VAR_COMPENSATOR,
+            IdentifiableType.HVDC_LINE,
+            IdentifiableType.DANGLING_LINE,
+            IdentifiableType.BUSBAR_SECTION,
+            IdentifiableType.SWITCH
+    );
+
+    private final ContingencyListEvaluator contingencyListEvaluator;
+
+    public ContingencyCountEngine(ContingencyListEvaluator contingencyListEvaluator) {
+        this.contingencyListEvaluator = contingencyListEvaluator;
+    }
+
+    /**
+     * Count an identifier based list from its identifiers.
+     * Empty if the list has to be evaluated, some equipment not being found or not being a supported contingency element.
+     */
+    public Optional<ContingencyCountByContingencyList> countIdBasedContingencyList(IdBasedContingencyList contingencyList, NetworkElementIndex networkElementIndex) {
+        List<NetworkElementIdentifier> contingencies = contingencyList.getIdentifierContingencyList().getIdentifiants();
+        for (NetworkElementIdentifier contingency : contingencies) {
+            for (NetworkElementIdentifier identifier : ((NetworkElementIdentifierContingencyList) contingency).getNetworkElementIdentifiers()) {
+                IdentifiableType type = networkElementIndex.getType(((IdBasedNetworkElementIdentifier) identifier).getIdentifier());
+                if (type == null || !CONTINGENCY_ELEMENT_TYPES.contains(type)) {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.of(new ContingencyCountByContingencyList(contingencies.size(), new HashMap<>(), null));
+    }
+
+    public ContingencyCountByContingencyList countContingencyList(PersistentContingencyList contingencyList, Network network) {
+        try {
+            int nbContingencies = (int) contingencyListEvaluator.evaluateContingencyList(contingencyList, network)
+                    .stream()
+                    .filter(contingencyInfos -> contingencyInfos.getContingency() != null)
+                    .count();
+            return new ContingencyCountByContingencyList(nbContingencies, contingencyList.getNotFoundElements(network), null);
+        } catch (PowsyblException e) {
+            return new ContingencyCountByContingencyList(0, null, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.gridsuite.actions.utils.ContingencyListType;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers and distribution summaries of the contingency list operations, exposed with the other actuator metrics.
+ * Evaluation metrics are tagged with the list type, operation timers with the operation name.
+ */
+@Service
+public class ContingencyListMetrics {
+
+    public static final String OPERATION_METER_NAME = "contingency.lists.operation";
+    public static final String NETWORK_LOAD_METER_NAME = "contingency.lists.network.load";
+    public static final String DATABASE_LOAD_METER_NAME = "contingency.lists.database.load";
+    public static final String EVALUATION_METER_NAME = "contingency.lists.evaluation";
+    public static final String EVALUATION_ERRORS_METER_NAME = "contingency.lists.evaluation.errors";
+    public static final String CONTINGENCIES_METER_NAME = "contingency.lists.contingencies";
+    public static final String NOT_FOUND_ELEMENTS_METER_NAME = "contingency.lists.not.found.elements";
+    public static final String NETWORK_INDEX_BUILD_METER_NAME = "contingency.lists.network.index.build";
+    public static final String NETWORK_INDEX_SIZE_METER_NAME = "contingency.lists.network.index.size";
+    public static final String SERIALIZATION_METER_NAME = "contingency.lists.serialization";
+    public static final String PAYLOAD_SIZE_METER_NAME = "contingency.lists.payload.size";
+    public static final String COALESCED_REQUESTS_METER_NAME = "contingency.lists.coalesced.requests";
+    public static final String CANCELLED_COMPUTATIONS_METER_NAME = "contingency.lists.cancelled.computations";
+    public static final String EXPORT_JOBS_PENDING_METER_NAME = "contingency.lists.export.jobs.pending";
+    public static final String EXPORT_JOBS_WAIT_METER_NAME = "contingency.lists.export.jobs.wait";
+    public static final String FILTER_EVALUATIONS_METER_NAME = "contingency.lists.filter.evaluations";
+    public static final String FILTER_REUSES_METER_NAME = "contingency.lists.filter.reuses";
+
+    public static final String OPERATION_TAG = "operation";
+    public static final String TYPE_TAG = "type";
+    public static final String PAYLOAD_TAG = "payload";
+    public static final String FORMAT_TAG = "format";
+
+    private final MeterRegistry meterRegistry;
+
+    public ContingencyListMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T recordOperation(String operation, Supplier<T> supplier) {
+        return timer(OPERATION_METER_NAME, OPERATION_TAG, operation).record(supplier);
+    }
+
+    public <T> T recordNetworkLoad(Supplier<T> supplier) {
+        return Timer.builder(NETWORK_LOAD_METER_NAME)
+                .description("Time to get a network instance, loading it when none is idle")
+                .register(meterRegistry)
+                .record(supplier);
+    }
+
+    public NetworkElementIndex recordNetworkIndexBuild(Supplier<NetworkElementIndex> supplier) {
+        NetworkElementIndex index = Timer.builder(NETWORK_INDEX_BUILD_METER_NAME)
+                .description("Time to index the identifiables of a network")
+                .register(meterRegistry)
+                .record(supplier);
+        DistributionSummary.builder(NETWORK_INDEX_SIZE_METER_NAME)
+                .description("Estimated memory footprint of a network identifiables index")
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .record(index.getEstimatedSizeInBytes());
+        return index;
+    }
+
+    public <T> T recordDatabaseLoad(ContingencyListType type, Supplier<T> supplier) {
+        return timer(DATABASE_LOAD_METER_NAME, TYPE_TAG, type.name()).record(supplier);
+    }
+
+    public <T> T recordEvaluation(ContingencyListType type, Supplier<T> supplier) {
+        return timer(EVALUATION_METER_NAME, TYPE_TAG, type.name()).record(supplier);
+    }
+
+    public void recordEvaluationResult(ContingencyListType type, long nbContingencies, long nbNotFoundElements) {
+        DistributionSummary.builder(CONTINGENCIES_METER_NAME)
+                .description("Number of contingencies of an evaluated list")
+                .tag(TYPE_TAG, type.name())
+                .register(meterRegistry)
+                .record(nbContingencies);
+        DistributionSummary.builder(NOT_FOUND_ELEMENTS_METER_NAME)
+                .description("Number of elements of an evaluated list not found in the network")
+                .tag(TYPE_TAG, type.name())
+                .register(meterRegistry)
+                .record(nbNotFoundElements);
+    }
+
+    public void recordEvaluationError(ContingencyListType type) {
+        meterRegistry.counter(EVALUATION_ERRORS_METER_NAME, TYPE_TAG, type.name()).increment();
+    }
+
+    public void recordCoalescedRequest(String operation) {
+        meterRegistry.counter(COALESCED_REQUESTS_METER_NAME, OPERATION_TAG, operation).increment();
+    }
+
+    public void recordCancelledComputation(String operation) {
+        meterRegistry.counter(CANCELLED_COMPUTATIONS_METER_NAME, OPERATION_TAG, operation).increment();
+    }
+
+    public void registerExportJobsQueue(Number nbPendingJobs) {
+        Gauge.builder(EXPORT_JOBS_PENDING_METER_NAME, nbPendingJobs, Number::doubleValue)
+                .description("Number of export jobs waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    public void recordExportJobWait(Duration duration) {
+        Timer.builder(EXPORT_JOBS_WAIT_METER_NAME)
+                .description("Time spent by an export job waiting for a worker")
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    /**
+     * Filters evaluated for a request, and filter requests of its lists answered by an already evaluated filter.
+     */
+    public void recordFilterEvaluations(long nbEvaluatedFilters, long nbReusedFilters) {
+        meterRegistry.counter(FILTER_EVALUATIONS_METER_NAME).increment(nbEvaluatedFilters);
+        meterRegistry.counter(FILTER_REUSES_METER_NAME).increment(nbReusedFilters);
+    }
+
+    public void recordSerialization(String payload, String format, long durationNanos, long sizeInBytes) {
+        Timer.builder(SERIALIZATION_METER_NAME)
+                .description("Time to serialize and write an export response")
+                .tags(PAYLOAD_TAG, payload, FORMAT_TAG, format)
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(PAYLOAD_SIZE_METER_NAME)
+                .description("Size of a serialized export response, before any HTTP compression")
+                .baseUnit("bytes")
+                .tags(PAYLOAD_TAG, payload, FORMAT_TAG, format)
+                .register(meterRegistry)
+                .record(sizeInBytes);
+    }
+
+    private Timer timer(String name, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
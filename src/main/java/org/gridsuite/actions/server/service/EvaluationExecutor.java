@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Runs independent evaluation tasks concurrently on virtual threads, with at most
+ * {@code parallelism} tasks running at the same time across all requests.
+ * Results are returned in the order of the submitted items.
+ * Tasks must not share any network instance, the network store filling networks on first access: each task leases
+ * its own, see {@link NetworkCacheService}.
+ */
+@Service
+public class EvaluationExecutor {
+
+    @Getter
+    private final int parallelism;
+
+    private final Semaphore permits;
+
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+    public EvaluationExecutor(@Value("${gridsuite.contingency-lists.evaluation.parallelism:4}") int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Evaluation parallelism must be strictly positive, got " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.permits = new Semaphore(parallelism);
+    }
+
+    public <T, R> List<R> map(List<T> items, Function<T, R> task) {
+        if (parallelism == 1 || items.size() <= 1) {
+            return items.stream().map(task).toList();
+        }
+
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        items.forEach(item -> futures.add(executorService.submit(() -> runWithPermit(task, item))));
+
+        List<R> results = new ArrayList<>(items.size());
+        try {
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating contingency lists", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    private <T, R> R runWithPermit(Function<T, R> task, T item) throws InterruptedException {
+        permits.acquire();
+        try {
+            return task.apply(item);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.service;
+
+import com.powsybl.iidm.network.Network;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.filter.FilterLoader;
+import org.gridsuite.filter.expertfilter.ExpertFilter;
+import org.gridsuite.filter.expertfilter.expertrule.CombinatorExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.StringExpertRule;
+import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
+import org.gridsuite.filter.utils.FilterServiceUtils;
+import org.gridsuite.filter.utils.expertfilter.CombinatorType;
+import org.gridsuite.filter.utils.expertfilter.FieldType;
+import org.gridsuite.filter.utils.expertfilter.OperatorType;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Filters evaluated for a single request, shared by all the filter based lists of the request.
+ * While a memo is bound, expert filters are provided to the contingency list evaluator already evaluated: each one is
+ * replaced by an expert filter of the same id and equipment type, only matching the ids of the equipments it matched.
+ * The evaluator then handles them as the original filters, while each distinct filter is fetched and evaluated once
+ * whatever the number of lists using it.
+ * Lists being evaluated on network instances of their own, each evaluation task binds a view of the request memo on
+ * its network with {@link #on(Network)}: a filter is evaluated on the network of the first list requesting it.
+ */
+public final class FilterEvaluationMemo {
+
+    private static final ScopedValue<FilterEvaluationMemo> CURRENT = ScopedValue.newInstance();
+
+    private final Network network;
+
+    private final ConcurrentMap<UUID, CompletableFuture<AbstractFilter>> evaluatedFilters;
+
+    private final AtomicInteger nbRequestedFilters;
+
+    private final AtomicInteger nbEvaluatedFilters;
+
+    public FilterEvaluationMemo() {
+        this(null, new ConcurrentHashMap<>(), new AtomicInteger(), new AtomicInteger());
+    }
+
+    private FilterEvaluationMemo(Network network, ConcurrentMap<UUID, CompletableFuture<AbstractFilter>> evaluatedFilters,
+                                 AtomicInteger nbRequestedFilters, AtomicInteger nbEvaluatedFilters) {
+        this.network = network;
+        this.evaluatedFilters = evaluatedFilters;
+        this.nbRequestedFilters = nbRequestedFilters;
+        this.nbEvaluatedFilters = nbEvaluatedFilters;
+    }
+
+    /**
+     * A memo sharing the filters and counters of this one, which evaluates the filters not requested yet on the given network.
+     */
+    public FilterEvaluationMemo on(Network network) {
+        return new FilterEvaluationMemo(Objects.requireNonNull(network), evaluatedFilters, nbRequestedFilters, nbEvaluatedFilters);
+    }
+
+    public static Optional<FilterEvaluationMemo> current() {
+        return CURRENT.isBound() ? Optional.of(CURRENT.get()) : Optional.empty();
+    }
+
+    /**
+     * Run the operation with the given memo bound, or unchanged if null.
+     */
+    public static <T, X extends Throwable> T callWith(FilterEvaluationMemo memo, ScopedValue.CallableOp<T, X> operation) throws X {
+        return memo == null ? operation.call() : ScopedValue.where(CURRENT, memo).call(operation);
+    }
+
+    /**
+     * The evaluated filters, in the requested order, unknown filters being absent.
+     * Filters no other list has requested yet are loaded together by filterLoader, which is also used for the filters they reference.
+     */
+    public List<AbstractFilter> getFilters(List<UUID> filtersUuids, FilterLoader filterLoader) {
+        nbRequestedFilters.addAndGet(filtersUuids.size());
+        Map<UUID, CompletableFuture<AbstractFilter>> ownFutures = new LinkedHashMap<>();
+        for (UUID uuid : new LinkedHashSet<>(filtersUuids)) {
+            CompletableFuture<AbstractFilter> future = new CompletableFuture<>();
+            if (evaluatedFilters.putIfAbsent(uuid, future) == null) {
+                ownFutures.put(uuid, future);
+            }
+        }
+        if (!ownFutures.isEmpty()) {
+            try {
+                Map<UUID, AbstractFilter> filters = new HashMap<>();
+                filterLoader.getFilters(List.copyOf(ownFutures.keySet())).forEach(filter -> filters.put(filter.getId(), filter));
+                ownFutures.forEach((uuid, future) -> future.complete(Optional.ofNullable(filters.get(uuid)).map(filter -> evaluate(filter, filterLoader)).orElse(null)));
+            } catch (RuntimeException e) {
+                ownFutures.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            }
+        }
+        return filtersUuids.stream().map(uuid -> join(evaluatedFilters.get(uuid))).filter(Objects::nonNull).toList();
+    }
+
+    private AbstractFilter evaluate(AbstractFilter filter, FilterLoader filterLoader) {
+        if (!(filter instanceof ExpertFilter)) {
+            // identifier list filters already are the list of their equipments
+            return filter;
+        }
+        if (network == null) {
+            throw new IllegalStateException("Filter " + filter.getId() + " cannot be evaluated without network");
+        }
+        nbEvaluatedFilters.incrementAndGet();
+        Set<String> equipmentIds = FilterServiceUtils.getIdentifiableAttributes(filter, network, filterLoader).stream()
+                .map(IdentifiableAttributes::getId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        return new ExpertFilter(filter.getId(), filter.getModificationDate(), filter.getEquipmentType(),
+                CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                        StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.IN).values(equipmentIds).build())).build());
+    }
+
+    /**
+     * Number of filters requested by the lists, each list counting the filters it uses.
+     */
+    public int getNbRequestedFilters() {
+        return nbRequestedFilters.get();
+    }
+
+    /**
+     * Number of filters actually evaluated on a network, only expert filters needing an evaluation.
+     */
+    public int getNbEvaluatedFilters() {
+        return nbEvaluatedFilters.get();
+    }
+
+    /**
+     * Number of filter requests answered without fetching nor evaluating the filter again.
+     */
+    public int getNbReusedFilters() {
+        return nbRequestedFilters.get() - evaluatedFilters.size();
+    }
+
+    private static AbstractFilter join(CompletableFuture<AbstractFilter> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -7,7 +7,12 @@
 
 package org.gridsuite.actions.server.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.gridsuite.actions.dto.FilterAttributes;
 import org.gridsuite.filter.AbstractFilter;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,37 +20,89 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
+/**
+ * Filter server client. Concurrent callers share in-flight requests: filters already being fetched
+ * by another caller are awaited rather than requested again, and identical attributes requests
+ * are sent once. Connections are pooled, with configurable connection and read timeouts.
+ */
 @Service
 public class FilterService {
     public static final String FILTER_END_POINT_INFOS_IDS = "/filters/infos";
     public static final String FILTER_END_POINT_METADATA = "/filters/metadata";
     public static final String DELIMITER = "/";
     public static final String FILTER_API_VERSION = "v1";
+    public static final String REQUESTS_METER_NAME = "filter.server.requests";
+    public static final String ENDPOINT_TAG = "endpoint";
 
     @Getter
     private final String baseUri;
     private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<UUID, CompletableFuture<AbstractFilter>> inFlightFilters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<List<UUID>, CompletableFuture<List<FilterAttributes>>> inFlightFiltersAttributes = new ConcurrentHashMap<>();
 
     @Autowired
     public FilterService(@Value("${gridsuite.services.filter-server.base-uri:http://filter-server/}") String baseUri,
-                         RestTemplateBuilder restTemplateBuilder) {
+                         RestTemplateBuilder restTemplateBuilder,
+                         MeterRegistry meterRegistry,
+                         @Value("${gridsuite.services.filter-server.connect-timeout:5s}") Duration connectTimeout,
+                         @Value("${gridsuite.services.filter-server.read-timeout:30s}") Duration readTimeout,
+                         @Value("${gridsuite.services.filter-server.max-connections:50}") int maxConnections) {
         this.baseUri = baseUri;
-        this.restTemplate = restTemplateBuilder.build();
+        this.restTemplate = restTemplateBuilder
+            .requestFactory(() -> createRequestFactory(connectTimeout, readTimeout, maxConnections))
+            .build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    private static HttpComponentsClientHttpRequestFactory createRequestFactory(Duration connectTimeout, Duration readTimeout, int maxConnections) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnections)
+            .build();
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(
+            HttpClients.custom().setConnectionManager(connectionManager).build());
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
     }
 
     public List<FilterAttributes> getFiltersAttributes(List<UUID> filtersUuid) {
         if (filtersUuid.isEmpty()) {
             return new ArrayList<>();
         }
+        CompletableFuture<List<FilterAttributes>> future = new CompletableFuture<>();
+        CompletableFuture<List<FilterAttributes>> inFlightFuture = inFlightFiltersAttributes.putIfAbsent(List.copyOf(filtersUuid), future);
+        if (inFlightFuture != null) {
+            return new ArrayList<>(join(inFlightFuture));
+        }
+        try {
+            List<FilterAttributes> filtersAttributes = fetchFiltersAttributes(filtersUuid);
+            future.complete(filtersAttributes);
+            return filtersAttributes;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightFiltersAttributes.remove(List.copyOf(filtersUuid), future);
+        }
+    }
+
+    private List<FilterAttributes> fetchFiltersAttributes(List<UUID> filtersUuid) {
         String endPointUrl = getBaseUri() + DELIMITER + FILTER_API_VERSION + FILTER_END_POINT_INFOS_IDS;
         UriComponentsBuilder uriComponentsBuilder = UriComponentsBuilder.fromHttpUrl(endPointUrl);
         uriComponentsBuilder.queryParam("filterUuids", filtersUuid);
@@ -54,17 +111,73 @@ public class FilterService {
         HttpHeaders headers = new HttpHeaders();
 
         HttpEntity<String> entity = new HttpEntity<>(headers);
-        ResponseEntity<List<FilterAttributes>> response = restTemplate.exchange(uriComponent.toUriString(),
-            HttpMethod.GET, entity, new ParameterizedTypeReference<>() { });
+        ResponseEntity<List<FilterAttributes>> response = requestTimer(FILTER_END_POINT_INFOS_IDS).record(() -> restTemplate.exchange(uriComponent.toUriString(),
+            HttpMethod.GET, entity, new ParameterizedTypeReference<List<FilterAttributes>>() { }));
         return response.getBody() != null ? response.getBody() : new ArrayList<>();
     }
 
     public List<AbstractFilter> getFilters(List<UUID> filtersUuids) {
+        if (filtersUuids.isEmpty()) {
+            return fetchFilters(filtersUuids);
+        }
+        // register the filters no other caller is fetching, then fetch them before awaiting the others
+        List<UUID> uuidsToFetch = new ArrayList<>();
+        Map<UUID, CompletableFuture<AbstractFilter>> ownFutures = new HashMap<>();
+        Map<UUID, CompletableFuture<AbstractFilter>> sharedFutures = new LinkedHashMap<>();
+        for (UUID uuid : new LinkedHashSet<>(filtersUuids)) {
+            CompletableFuture<AbstractFilter> future = new CompletableFuture<>();
+            CompletableFuture<AbstractFilter> inFlightFuture = inFlightFilters.putIfAbsent(uuid, future);
+            if (inFlightFuture == null) {
+                uuidsToFetch.add(uuid);
+                ownFutures.put(uuid, future);
+            } else {
+                sharedFutures.put(uuid, inFlightFuture);
+            }
+        }
+
+        Map<UUID, AbstractFilter> filtersById = new HashMap<>();
+        if (!uuidsToFetch.isEmpty()) {
+            try {
+                fetchFilters(uuidsToFetch).forEach(filter -> filtersById.putIfAbsent(filter.getId(), filter));
+                ownFutures.forEach((uuid, future) -> future.complete(filtersById.get(uuid)));
+            } catch (RuntimeException e) {
+                ownFutures.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                ownFutures.forEach(inFlightFilters::remove);
+            }
+        }
+        sharedFutures.forEach((uuid, future) -> filtersById.put(uuid, join(future)));
+        // in the requested order, whoever fetched them
+        return new LinkedHashSet<>(filtersUuids).stream().map(filtersById::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private List<AbstractFilter> fetchFilters(List<UUID> filtersUuids) {
         var ids = !filtersUuids.isEmpty() ? "?ids=" + filtersUuids.stream().map(UUID::toString).collect(Collectors.joining(",")) : "";
         String path = UriComponentsBuilder.fromPath(DELIMITER + FILTER_API_VERSION + FILTER_END_POINT_METADATA + ids)
             .buildAndExpand()
             .toUriString();
-        ResponseEntity<List<AbstractFilter>> response = restTemplate.exchange(getBaseUri() + path, HttpMethod.GET, null, new ParameterizedTypeReference<>() { });
+        ResponseEntity<List<AbstractFilter>> response = requestTimer(FILTER_END_POINT_METADATA).record(() ->
+            restTemplate.exchange(getBaseUri() + path, HttpMethod.GET, null, new ParameterizedTypeReference<List<AbstractFilter>>() { }));
         return response.getBody() != null ? response.getBody() : new ArrayList<>();
     }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private Timer requestTimer(String endPoint) {
+        return Timer.builder(REQUESTS_METER_NAME)
+            .description("Latency of the filter server requests")
+            .tag(ENDPOINT_TAG, endPoint)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
 }
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.service;
+
+import org.gridsuite.actions.server.entities.IdBasedContingencyListEntity;
+import org.gridsuite.actions.server.entities.IdentifierListEntity;
+import org.gridsuite.actions.server.repositories.IdBasedContingencyListRepository;
+
+import java.util.*;
+
+/**
+ * Contingencies of an identifier list, by batches of consecutive contingencies, so that a single batch is held in memory.
+ * Contingencies stored as rows are read by ranges of contingency order, each range with its own query and its own
+ * transaction, so that neither a cursor nor a transaction is kept open between batches. Compact lists are decoded one contingency at a time.
+ */
+public class IdentifierListBatchIterator implements Iterator<List<IdentifierListEntity>> {
+
+    private final IdBasedContingencyListEntity entity;
+
+    private final IdBasedContingencyListRepository idBasedContingencyListRepository;
+
+    private final int batchSize;
+
+    private final List<IdentifierListEntity> compactIdentifierLists;
+
+    private int nextOrder;
+
+    private List<IdentifierListEntity> nextBatch;
+
+    public IdentifierListBatchIterator(IdBasedContingencyListEntity entity, IdBasedContingencyListRepository idBasedContingencyListRepository, int batchSize) {
+        this.entity = entity;
+        this.idBasedContingencyListRepository = idBasedContingencyListRepository;
+        this.batchSize = batchSize;
+        this.compactIdentifierLists = entity.isCompact() ? entity.getIdentifierLists() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextBatch == null) {
+            nextBatch = compactIdentifierLists != null ? readCompactBatch() : readBatch();
+            nextOrder += batchSize;
+        }
+        return !nextBatch.isEmpty();
+    }
+
+    @Override
+    public List<IdentifierListEntity> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<IdentifierListEntity> batch = nextBatch;
+        nextBatch = null;
+        return batch;
+    }
+
+    private List<IdentifierListEntity> readCompactBatch() {
+        if (nextOrder >= compactIdentifierLists.size()) {
+            return List.of();
+        }
+        return new ArrayList<>(compactIdentifierLists.subList(nextOrder, Math.min(nextOrder + batchSize, compactIdentifierLists.size())));
+    }
+
+    private List<IdentifierListEntity> readBatch() {
+        // contingencies always have equipments, so that an empty range means that the list end has been reached
+        List<IdentifierListEntity> batch = new ArrayList<>();
+        Integer currentOrder = null;
+        for (Object[] row : idBasedContingencyListRepository.findIdentifierRows(entity.getId(), nextOrder, nextOrder + batchSize)) {
+            if (!row[0].equals(currentOrder)) {
+                currentOrder = (Integer) row[0];
+                batch.add(new IdentifierListEntity(null, (String) row[1], new LinkedHashSet<>()));
+            }
+            batch.getLast().getEquipmentIds().add((String) row[2]);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.network.store.client.NetworkStoreService;
+import com.powsybl.network.store.client.PreloadingStrategy;
+import com.powsybl.network.store.iidm.impl.NetworkFactoryImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keeps recently loaded networks per (network, variant), so that successive count/export requests on the same
+ * variant do not download it again.
+ * Networks are loaded with the {@link PreloadingStrategy#COLLECTION} strategy: only the collections of the equipment
+ * types an evaluation actually reads are downloaded, on first access. Building the identifiables index, only needed by
+ * identifier based lists, reads all of them.
+ * A network instance is only used by one evaluation at a time: it is leased, then given back once the evaluation is
+ * done, the network store filling its collections on first access, which is not thread safe. Concurrent evaluations
+ * of a variant thus load several instances, at most {@code max-idle-networks-per-variant} of them being kept once
+ * given back.
+ * Instances are loaded outside of the cache, whose entries are only locked while their empty pool is created, so that
+ * loading a variant never blocks the requests on another variant nor the ones reusing an idle instance.
+ * Instances are dropped a short time after their load to limit staleness, networks being modified in the network
+ * store without any notification to this server.
+ * The cache is bounded by the number of idle instances it keeps, the size of a lazily loaded network being unknown
+ * until it is walked through.
+ * The identifiables index of a variant is built from the first instance which needs it, then shared by all the
+ * instances of the variant.
+ */
+@Service
+public class NetworkCacheService {
+
+    public static final String CACHE_NAME = "networks";
+
+    private final NetworkStoreService networkStoreService;
+
+    private final Cache<NetworkCacheKey, NetworkPool> cache;
+
+    private final ContingencyListMetrics contingencyListMetrics;
+
+    private final int maxIdleNetworksPerVariant;
+
+    private final long timeToLiveNanos;
+
+    public NetworkCacheService(NetworkStoreService networkStoreService,
+                               MeterRegistry meterRegistry,
+                               ContingencyListMetrics contingencyListMetrics,
+                               @Value("${gridsuite.network-cache.max-networks:16}") long maxNetworks,
+                               @Value("${gridsuite.network-cache.max-idle-networks-per-variant:${gridsuite.contingency-lists.evaluation.parallelism:4}}") int maxIdleNetworksPerVariant,
+                               @Value("${gridsuite.network-cache.time-to-live:1m}") Duration timeToLive) {
+        this.networkStoreService = networkStoreService;
+        this.contingencyListMetrics = contingencyListMetrics;
+        this.maxIdleNetworksPerVariant = maxIdleNetworksPerVariant;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxNetworks)
+                .weigher((NetworkCacheKey key, NetworkPool pool) -> pool.getNbIdleNetworks())
+                .expireAfterAccess(timeToLive)
+                // an entry is replaced by itself to be weighed again
+                .removalListener((NetworkCacheKey key, NetworkPool pool, RemovalCause cause) -> {
+                    if (pool != null && cause != RemovalCause.REPLACED) {
+                        pool.close();
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * A network instance of the variant for the exclusive use of the caller, which must close the lease once done.
+     * Without network uuid, the network is an empty one.
+     */
+    public NetworkLease lease(UUID networkUuid, String variantId) {
+        if (networkUuid == null) {
+            // use an empty network, script might not have need to network
+            Network network = new NetworkFactoryImpl().createNetwork("empty", "empty");
+            return new NetworkLease(network, () -> getNetworkElementIndex(network), () -> { });
+        }
+        NetworkCacheKey key = new NetworkCacheKey(networkUuid, variantId);
+        NetworkPool pool = cache.get(key, k -> new NetworkPool());
+        PooledNetwork pooledNetwork = pool.pollIdleNetwork();
+        if (pooledNetwork != null) {
+            reweigh(key, pool);
+        } else {
+            pooledNetwork = new PooledNetwork(loadNetwork(key), System.nanoTime());
+        }
+        PooledNetwork leasedNetwork = pooledNetwork;
+        return new NetworkLease(leasedNetwork.network(),
+                () -> pool.getNetworkElementIndex(leasedNetwork.network()),
+                () -> release(key, pool, leasedNetwork));
+    }
+
+    /**
+     * Identifiables index of a network which is not kept by the cache.
+     */
+    public NetworkElementIndex getNetworkElementIndex(Network network) {
+        Objects.requireNonNull(network);
+        return contingencyListMetrics.recordNetworkIndexBuild(() -> NetworkElementIndex.of(network));
+    }
+
+    public void invalidate(UUID networkUuid) {
+        cache.asMap().keySet().removeIf(key -> key.networkUuid().equals(networkUuid));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private void release(NetworkCacheKey key, NetworkPool pool, PooledNetwork pooledNetwork) {
+        if (!isExpired(pooledNetwork.loadTime()) && pool.offerIdleNetwork(pooledNetwork)) {
+            reweigh(key, pool);
+        }
+    }
+
+    private void reweigh(NetworkCacheKey key, NetworkPool pool) {
+        cache.asMap().replace(key, pool, pool);
+    }
+
+    private boolean isExpired(long time) {
+        return System.nanoTime() - time > timeToLiveNanos;
+    }
+
+    private Network loadNetwork(NetworkCacheKey key) {
+        Network network = networkStoreService.getNetwork(key.networkUuid(), PreloadingStrategy.COLLECTION);
+        if (network == null) {
+            throw new PowsyblException("Network '" + key.networkUuid() + "' not found");
+        }
+        if (key.variantId() != null) {
+            network.getVariantManager().setWorkingVariant(key.variantId());
+        }
+        return network;
+    }
+
+    private record NetworkCacheKey(UUID networkUuid, String variantId) { }
+
+    private record PooledNetwork(Network network, long loadTime) { }
+
+    /**
+     * Idle instances of a variant, the most recently used first, and the identifiables index of the variant.
+     */
+    private final class NetworkPool {
+
+        private final Deque<PooledNetwork> idleNetworks = new ArrayDeque<>();
+
+        private boolean closed;
+
+        private final Object indexLock = new Object();
+
+        private NetworkElementIndex networkElementIndex;
+
+        private long networkElementIndexBuildTime;
+
+        private synchronized int getNbIdleNetworks() {
+            return idleNetworks.size();
+        }
+
+        private synchronized PooledNetwork pollIdleNetwork() {
+            PooledNetwork pooledNetwork = idleNetworks.pollFirst();
+            while (pooledNetwork != null && isExpired(pooledNetwork.loadTime())) {
+                pooledNetwork = idleNetworks.pollFirst();
+            }
+            return pooledNetwork;
+        }
+
+        /**
+         * False if the instance is dropped, the pool being full or evicted.
+         */
+        private synchronized boolean offerIdleNetwork(PooledNetwork pooledNetwork) {
+            if (closed || idleNetworks.size() >= maxIdleNetworksPerVariant) {
+                return false;
+            }
+            idleNetworks.addFirst(pooledNetwork);
+            return true;
+        }
+
+        private synchronized void close() {
+            closed = true;
+            idleNetworks.clear();
+        }
+
+        /**
+         * Built from the given instance, leased by the caller, and rebuilt as instances are.
+         */
+        private NetworkElementIndex getNetworkElementIndex(Network network) {
+            synchronized (indexLock) {
+                if (networkElementIndex == null || isExpired(networkElementIndexBuildTime)) {
+                    networkElementIndex = NetworkCacheService.this.getNetworkElementIndex(network);
+                    networkElementIndexBuildTime = System.nanoTime();
+                }
+                return networkElementIndex;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.service;
+
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.IdentifiableType;
+import com.powsybl.iidm.network.Network;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Type of each identifiable of a network variant, by id and alias, built once per network variant so that
+ * checking whether the equipments of a list exist does not look each of them up in every collection of the network.
+ */
+public final class NetworkElementIndex {
+
+    // rough size of a hash map entry and of a string key, excluding its characters, on a 64-bit JVM with compressed oops
+    private static final long ENTRY_BYTES = 32 + 4;
+    private static final long STRING_BYTES = 24 + 16;
+
+    private final Map<String, IdentifiableType> types;
+
+    private final long estimatedSizeInBytes;
+
+    private NetworkElementIndex(Map<String, IdentifiableType> types) {
+        this.types = types;
+        this.estimatedSizeInBytes = types.keySet().stream().mapToLong(id -> ENTRY_BYTES + STRING_BYTES + id.length()).sum();
+    }
+
+    public static NetworkElementIndex of(Network network) {
+        Map<String, IdentifiableType> types = new HashMap<>();
+        for (Identifiable<?> identifiable : network.getIdentifiables()) {
+            IdentifiableType type = identifiable.getType();
+            types.put(identifiable.getId(), type);
+            identifiable.getAliases().forEach(alias -> types.put(alias, type));
+        }
+        return new NetworkElementIndex(types);
+    }
+
+    public boolean contains(String id) {
+        return types.containsKey(id);
+    }
+
+    /**
+     * Null if there is no identifiable with this id or alias in the network.
+     */
+    public IdentifiableType getType(String id) {
+        return types.get(id);
+    }
+
+    public int size() {
+        return types.size();
+    }
+
+    public long getEstimatedSizeInBytes() {
+        return estimatedSizeInBytes;
+    }
+}
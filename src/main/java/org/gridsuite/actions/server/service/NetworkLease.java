@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.service;
+
+import com.powsybl.iidm.network.Network;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Exclusive use of a network instance until closed, the instance being then given back to {@link NetworkCacheService}.
+ * The network must not be used anymore once the lease is closed.
+ */
+public final class NetworkLease implements AutoCloseable {
+
+    private final Network network;
+
+    private final Supplier<NetworkElementIndex> networkElementIndexSupplier;
+
+    private final Runnable release;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    NetworkLease(Network network, Supplier<NetworkElementIndex> networkElementIndexSupplier, Runnable release) {
+        this.network = Objects.requireNonNull(network);
+        this.networkElementIndexSupplier = Objects.requireNonNull(networkElementIndexSupplier);
+        this.release = Objects.requireNonNull(release);
+    }
+
+    /**
+     * Lease of a network which is not kept by the cache, with its already built identifiables index.
+     */
+    public static NetworkLease of(Network network, NetworkElementIndex networkElementIndex) {
+        Objects.requireNonNull(networkElementIndex);
+        return new NetworkLease(network, () -> networkElementIndex, () -> { });
+    }
+
+    public Network getNetwork() {
+        return network;
+    }
+
+    /**
+     * Identifiables index of the network variant, built from the leased network on first need.
+     */
+    public NetworkElementIndex getNetworkElementIndex() {
+        return networkElementIndexSupplier.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            release.run();
+        }
+    }
+}
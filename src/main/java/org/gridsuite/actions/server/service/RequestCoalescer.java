@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Shares the computation of identical concurrent requests: the first request of a key starts the computation on a
+ * dedicated virtual thread, and all the requests of the key, including the first one, wait for its result.
+ * Nothing is kept once the computation is over, a later identical request computes again.
+ * An in-flight computation can be cancelled: its computation thread is interrupted, never a request thread,
+ * and all its waiters fail.
+ */
+@Service
+public class RequestCoalescer {
+
+    private final ConcurrentMap<Key, InFlightComputation<?>> inFlightComputations = new ConcurrentHashMap<>();
+
+    private final ContingencyListMetrics contingencyListMetrics;
+
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RequestCoalescer(ContingencyListMetrics contingencyListMetrics) {
+        this.contingencyListMetrics = contingencyListMetrics;
+    }
+
+    /**
+     * Identical requests have the same operation, the same network variant and the same list ids in the same order.
+     */
+    public record Key(String operation, List<UUID> ids, UUID networkUuid, String variantId) {
+        public Key {
+            Objects.requireNonNull(operation);
+            ids = List.copyOf(ids);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Key key, Supplier<T> computation) {
+        InFlightComputation<T> created = new InFlightComputation<>(key, computation);
+        InFlightComputation<?> existing = inFlightComputations.putIfAbsent(key, created);
+        if (existing != null) {
+            contingencyListMetrics.recordCoalescedRequest(key.operation());
+            return (T) await(key, existing);
+        }
+        executorService.execute(created.task);
+        return await(key, created);
+    }
+
+    /**
+     * Cancel the in-flight computations of a network, of one of its variants if given, or all of them if no network is given.
+     * Returns the number of cancelled computations.
+     */
+    public int cancel(UUID networkUuid, String variantId) {
+        int nbCancelled = 0;
+        for (var entry : inFlightComputations.entrySet()) {
+            Key key = entry.getKey();
+            if ((networkUuid == null || networkUuid.equals(key.networkUuid())) && (variantId == null || variantId.equals(key.variantId()))
+                    && inFlightComputations.remove(key, entry.getValue()) && entry.getValue().cancel()) {
+                contingencyListMetrics.recordCancelledComputation(key.operation());
+                nbCancelled++;
+            }
+        }
+        return nbCancelled;
+    }
+
+    public int getInFlightComputationsCount() {
+        return inFlightComputations.size();
+    }
+
+    private static <T> T await(Key key, InFlightComputation<T> computation) {
+        try {
+            return computation.task.get();
+        } catch (CancellationException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Computation " + key.operation() + " on network " + key.networkUuid() + " has been cancelled");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an identical computation", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private final class InFlightComputation<T> {
+
+        private final FutureTask<T> task;
+
+        private InFlightComputation(Key key, Supplier<T> computation) {
+            this.task = new FutureTask<>(() -> {
+                try {
+                    return computation.get();
+                } finally {
+                    inFlightComputations.remove(key, this);
+                }
+            });
+        }
+
+        private boolean cancel() {
+            return task.cancel(true);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+}
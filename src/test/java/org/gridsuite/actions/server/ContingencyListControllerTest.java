@@ -11,6 +11,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.MappingBuilder;
@@ -32,21 +33,36 @@ import com.powsybl.iidm.network.test.SvcTestCaseFactory;
 import com.powsybl.network.store.client.NetworkStoreService;
 import com.powsybl.network.store.client.PreloadingStrategy;
 import com.powsybl.network.store.iidm.impl.NetworkFactoryImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
 import org.gridsuite.actions.ContingencyListEvaluator;
 import org.gridsuite.actions.dto.*;
 import org.gridsuite.actions.dto.contingency.FilterBasedContingencyList;
 import org.gridsuite.actions.dto.contingency.IdBasedContingencyList;
 import org.gridsuite.actions.dto.evaluation.ContingencyIdsByGroup;
 import org.gridsuite.actions.dto.evaluation.ContingencyInfos;
+import org.gridsuite.actions.server.configs.ExportSerializationConfig;
 import org.gridsuite.actions.server.dto.ContingencyCount;
 import org.gridsuite.actions.server.dto.CountWithMissingUuids;
+import org.gridsuite.actions.server.dto.ExportJobInfos;
+import org.gridsuite.actions.server.dto.IdentifierContingencyListModification;
+import org.gridsuite.actions.server.entities.CompactEquipmentIdsBackfill;
 import org.gridsuite.actions.server.repositories.FilterBasedContingencyListRepository;
 import org.gridsuite.actions.server.repositories.IdBasedContingencyListRepository;
+import org.gridsuite.actions.server.repositories.IdentifierListRepository;
+import org.gridsuite.actions.server.service.ContingencyCountCacheService;
+import org.gridsuite.actions.server.service.ContingencyCountEngine;
+import org.gridsuite.actions.server.service.ContingencyListMetrics;
 import org.gridsuite.actions.server.service.FilterService;
+import org.gridsuite.actions.server.service.NetworkCacheService;
 import org.gridsuite.actions.server.utils.MatcherJson;
+import org.gridsuite.actions.utils.ContingencyListType;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -54,13 +70,22 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.stream.binder.test.OutputDestination;
 import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.messaging.Message;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
 import static org.gridsuite.filter.utils.EquipmentType.*;
@@ -69,8 +94,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -101,6 +129,9 @@ class ContingencyListControllerTest {
     @Autowired
     private IdBasedContingencyListRepository idBasedContingencyListRepository;
 
+    @Autowired
+    private IdentifierListRepository identifierListRepository;
+
     @Autowired
     private FilterBasedContingencyListRepository filterBasedContingencyListRepository;
 
@@ -121,14 +152,33 @@ class ContingencyListControllerTest {
     private FilterService filterService;
     @MockitoSpyBean
     private ContingencyListEvaluator contingencyListEvaluator;
+    @MockitoSpyBean
+    private ContingencyCountEngine contingencyCountEngine;
 
     @Autowired
     private ContingencyListService contingencyListService;
 
+    @Autowired
+    private NetworkCacheService networkCacheService;
+
+    @Autowired
+    private ContingencyCountCacheService contingencyCountCacheService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
     @AfterEach
     void tearDown() {
         idBasedContingencyListRepository.deleteAll();
         filterBasedContingencyListRepository.deleteAll();
+        networkCacheService.invalidateAll();
+        contingencyCountCacheService.invalidateAll();
 
         List<String> destinations = List.of(elementUpdateDestination);
         assertQueuesEmptyThenClear(destinations, output);
@@ -166,11 +216,11 @@ class ContingencyListControllerTest {
         Network network3 = SvcTestCaseFactory.createWithMoreSVCs(new NetworkFactoryImpl());
         Network network4 = ShuntTestCaseFactory.create(new NetworkFactoryImpl());
         Network network5 = EurostagTutorialExample1Factory.createWithFixedCurrentLimits(new NetworkFactoryImpl());
-        given(networkStoreService.getNetwork(NETWORK_UUID, PreloadingStrategy.COLLECTION)).willReturn(network);
-        given(networkStoreService.getNetwork(NETWORK_UUID_2, PreloadingStrategy.COLLECTION)).willReturn(network2);
-        given(networkStoreService.getNetwork(NETWORK_UUID_3, PreloadingStrategy.COLLECTION)).willReturn(network3);
-        given(networkStoreService.getNetwork(NETWORK_UUID_4, PreloadingStrategy.COLLECTION)).willReturn(network4);
-        given(networkStoreService.getNetwork(NETWORK_UUID_5, PreloadingStrategy.COLLECTION)).willReturn(network5);
+        given(networkStoreService.getNetwork(eq(NETWORK_UUID), any(PreloadingStrategy.class))).willReturn(network);
+        given(networkStoreService.getNetwork(eq(NETWORK_UUID_2), any(PreloadingStrategy.class))).willReturn(network2);
+        given(networkStoreService.getNetwork(eq(NETWORK_UUID_3), any(PreloadingStrategy.class))).willReturn(network3);
+        given(networkStoreService.getNetwork(eq(NETWORK_UUID_4), any(PreloadingStrategy.class))).willReturn(network4);
+        given(networkStoreService.getNetwork(eq(NETWORK_UUID_5), any(PreloadingStrategy.class))).willReturn(network5);
 
         objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
         objectMapper.registerModule(new ContingencyJsonModule());
@@ -262,6 +312,84 @@ class ContingencyListControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testExportSeveralContingenciesInfos() throws Exception {
+        UUID firstListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1", "NHV1_NHV2_2"));
+        UUID secondListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "GEN", "LOAD"));
+
+        // lists are loaded together but contingencies are returned in the requested order
+        String res = mvc.perform(get("/" + VERSION + "/contingency-lists/contingency-infos/export?networkUuid=" + NETWORK_UUID + "&ids=" + secondListId + "&ids=" + firstListId + "&ids=" + secondListId)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> contingencyIds = new ArrayList<>();
+        objectMapper.readTree(res).forEach(contingencyInfos -> contingencyIds.add(contingencyInfos.get("id").asText()));
+        assertEquals(List.of("GEN", "LOAD", "NHV1_NHV2_1", "NHV1_NHV2_2", "GEN", "LOAD"), contingencyIds);
+
+        // any unknown list makes the whole export fail
+        mvc.perform(get("/" + VERSION + "/contingency-lists/contingency-infos/export?networkUuid=" + NETWORK_UUID + "&ids=" + firstListId + "&ids=" + UUID.randomUUID())
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testStreamContingenciesInfos() throws Exception {
+        UUID firstListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1", "Test"));
+        UUID secondListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "GEN"));
+
+        MvcResult mvcResult = mvc.perform(get("/" + VERSION + "/contingency-lists/contingency-infos/stream?networkUuid=" + NETWORK_UUID + "&variantId=" + VARIANT_ID_1 + "&ids=" + firstListId + "&ids=" + secondListId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String res = mvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // one contingency per line, in the requested order
+        String[] lines = res.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("NHV1_NHV2_1", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("Test", objectMapper.readTree(lines[1]).get("id").asText());
+        assertEquals("Test", objectMapper.readTree(lines[1]).get("notFoundElements").get(0).asText());
+        assertEquals("GEN", objectMapper.readTree(lines[2]).get("id").asText());
+
+        // unknown lists are reported before anything is written
+        mvc.perform(get("/" + VERSION + "/contingency-lists/contingency-infos/stream?networkUuid=" + NETWORK_UUID + "&ids=" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testStreamLargeContingencyListInfos() throws Exception {
+        // more contingencies than a single evaluation batch
+        String[] equipmentIds = {"NHV1_NHV2_1", "NHV1_NHV2_2", "GEN", "Test"};
+        List<NetworkElementIdentifier> identifiers = IntStream.range(0, 2500)
+                .mapToObj(i -> (NetworkElementIdentifier) new NetworkElementIdentifierContingencyList(
+                        List.of(new IdBasedNetworkElementIdentifier(equipmentIds[i % equipmentIds.length])), "N-1_" + i))
+                .toList();
+        UUID contingencyListId = addIdBasedContingencyList(new IdBasedContingencyList(null, Instant.now(), new IdentifierContingencyList("large", identifiers)));
+
+        MvcResult mvcResult = mvc.perform(get("/" + VERSION + "/contingency-lists/contingency-infos/stream?networkUuid=" + NETWORK_UUID + "&variantId=" + VARIANT_ID_1 + "&ids=" + contingencyListId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] lines = mvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(2500, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals("N-1_" + i, objectMapper.readTree(lines[i]).get("id").asText());
+        }
+        assertEquals("Test", objectMapper.readTree(lines[3]).get("notFoundElements").get(0).asText());
+    }
+
+    private UUID addIdBasedContingencyList(IdBasedContingencyList idBasedContingencyList) throws Exception {
+        String res = mvc.perform(post("/" + VERSION + "/identifier-contingency-lists")
+                        .content(objectMapper.writeValueAsString(idBasedContingencyList))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(res, IdBasedContingencyList.class).getId();
+    }
+
     @Test
     void testExportContingenciesNotConnectedAndNotFoundElements() throws Exception {
         NetworkElementIdentifierContingencyList networkElementIdentifierContingencyList = new NetworkElementIdentifierContingencyList(List.of(new IdBasedNetworkElementIdentifier("NHV1_NHV2_1"), new
@@ -299,6 +427,64 @@ class ContingencyListControllerTest {
         return contingencyListAttributes.get(0);
     }
 
+    @Test
+    void testGetIdentifierContingencyListsByEquipment() throws Exception {
+        UUID contingencyListId1 = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1", "GEN"));
+        UUID contingencyListId2 = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1", "NHV1_NHV2_2"));
+
+        String res = mvc.perform(post("/" + VERSION + "/identifier-contingency-lists/by-equipment")
+                        .content(objectMapper.writeValueAsString(List.of("NHV1_NHV2_1", "GEN", "NHV1_NHV2_2", "UNKNOWN")))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Map<String, Set<UUID>> contingencyListIds = objectMapper.readValue(res, new TypeReference<>() { });
+        assertEquals(Map.of(
+                "NHV1_NHV2_1", Set.of(contingencyListId1, contingencyListId2),
+                "GEN", Set.of(contingencyListId1),
+                "NHV1_NHV2_2", Set.of(contingencyListId2)), contingencyListIds);
+
+        // the lookup follows modifications and deletions
+        mvc.perform(patch("/" + VERSION + "/identifier-contingency-lists/" + contingencyListId1)
+                        .content(objectMapper.writeValueAsString(new IdentifierContingencyListModification(List.of("GEN"), null, null, null, null)))
+                        .contentType(APPLICATION_JSON)
+                        .header(USER_ID_HEADER, USER_ID_HEADER))
+                .andExpect(status().isOk());
+        assertNotNull(output.receive(TIMEOUT, elementUpdateDestination));
+        mvc.perform(delete("/" + VERSION + "/contingency-lists/" + contingencyListId2))
+                .andExpect(status().isOk());
+        res = mvc.perform(post("/" + VERSION + "/identifier-contingency-lists/by-equipment")
+                        .content(objectMapper.writeValueAsString(List.of("NHV1_NHV2_1", "GEN", "NHV1_NHV2_2")))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(Map.of("NHV1_NHV2_1", Set.of(contingencyListId1)), objectMapper.readValue(res, new TypeReference<Map<String, Set<UUID>>>() { }));
+    }
+
+    @Test
+    void testBackfillCompactEquipmentIds() throws Exception {
+        ReflectionTestUtils.setField(contingencyListService, "compactStorageMinContingencies", 1);
+        UUID contingencyListId;
+        try {
+            contingencyListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1", "GEN"));
+        } finally {
+            ReflectionTestUtils.setField(contingencyListService, "compactStorageMinContingencies", 0);
+        }
+        // as compacted before the equipment ids lookup existed
+        jdbcTemplate.update("DELETE FROM id_based_contingency_list_compact_equipment_ids");
+
+        try (Connection connection = dataSource.getConnection()) {
+            new CompactEquipmentIdsBackfill().execute(DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection)));
+        }
+
+        String res = mvc.perform(post("/" + VERSION + "/identifier-contingency-lists/by-equipment")
+                        .content(objectMapper.writeValueAsString(List.of("NHV1_NHV2_1", "GEN")))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(Map.of("NHV1_NHV2_1", Set.of(contingencyListId), "GEN", Set.of(contingencyListId)),
+                objectMapper.readValue(res, new TypeReference<Map<String, Set<UUID>>>() { }));
+    }
+
     private static IdBasedContingencyList createIdBasedContingencyList(UUID listId, Instant modificationDate, String... identifiers) {
         List<NetworkElementIdentifier> networkElementIdentifiers = Arrays.stream(identifiers).map(id -> new NetworkElementIdentifierContingencyList(List.of(new IdBasedNetworkElementIdentifier(id)),
                 id)).collect(Collectors.toList());
@@ -359,6 +545,50 @@ class ContingencyListControllerTest {
             .andExpect(status().isOk());
     }
 
+    @Test
+    void testConditionalContingencyListReads() throws Exception {
+        UUID idBasedContingencyListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1"));
+        String eTag = mvc.perform(get("/" + VERSION + "/identifier-contingency-lists/" + idBasedContingencyListId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        mvc.perform(get("/" + VERSION + "/identifier-contingency-lists/" + idBasedContingencyListId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // a modified list is sent again
+        mvc.perform(put("/" + VERSION + "/identifier-contingency-lists/" + idBasedContingencyListId)
+                        .content(objectMapper.writeValueAsString(createIdBasedContingencyList(idBasedContingencyListId, Instant.now(), "NHV1_NHV2_1", "GEN")))
+                        .contentType(APPLICATION_JSON)
+                        .header(USER_ID_HEADER, USER_ID_HEADER))
+                .andExpect(status().isOk());
+        assertNotNull(output.receive(TIMEOUT, elementUpdateDestination));
+        mvc.perform(get("/" + VERSION + "/identifier-contingency-lists/" + idBasedContingencyListId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+
+        // an unchanged filter based list is not loaded, nor its filters read from the filter server
+        FilterBasedContingencyList filterBasedContingencyList = addNewFilterBasedContingencyList(genFilterBasedContingencyList(List.of(UUID.randomUUID())));
+        Instant modificationDate = contingencyListService.getContingencyListMetadata(filterBasedContingencyList.getId(), ContingencyListType.FILTERS).orElseThrow().getModificationDate();
+        mvc.perform(get("/" + VERSION + "/filters-contingency-lists/" + filterBasedContingencyList.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, ContingencyListController.toETag(modificationDate)))
+                .andExpect(status().isNotModified());
+        verify(filterService, never()).getFiltersAttributes(any());
+        // versions saved within the same millisecond are told apart
+        assertNotEquals(ContingencyListController.toETag(Instant.ofEpochSecond(1, 1_000)), ContingencyListController.toETag(Instant.ofEpochSecond(1, 2_000)));
+
+        // a list without modification date has no version to compare to, it is always sent
+        jdbcTemplate.update("UPDATE id_based_contingency_list SET modification_date = NULL WHERE id = ?", idBasedContingencyListId);
+        mvc.perform(get("/" + VERSION + "/identifier-contingency-lists/" + idBasedContingencyListId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        // a list of another type is not found
+        mvc.perform(get("/" + VERSION + "/filters-contingency-lists/" + idBasedContingencyListId))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void modifyFilterBasedContingencyList() throws Exception {
 
@@ -406,6 +636,106 @@ class ContingencyListControllerTest {
         assertTrue(new MatcherJson<>(objectMapper, cl1.getIdentifierContingencyList()).matchesSafely(cl2.getIdentifierContingencyList()));
     }
 
+    @Test
+    void testImportIdBasedContingencyLists() throws Exception {
+        List<String[]> identifiers = List.of(new String[] {"NHV1_NHV2_1", "NHV1_NHV2_2"}, new String[] {"GEN"});
+        List<IdBasedContingencyList> contingencyLists = identifiers.stream().map(ids -> createIdBasedContingencyList(null, Instant.now(), ids)).toList();
+
+        String res = mvc.perform(post("/" + VERSION + "/identifier-contingency-lists/import")
+                        .content(objectMapper.writeValueAsString(contingencyLists))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<UUID> contingencyListIds = objectMapper.readValue(res, new TypeReference<>() {
+        });
+        assertEquals(2, contingencyListIds.size());
+
+        for (int i = 0; i < contingencyListIds.size(); i++) {
+            res = mvc.perform(get("/" + VERSION + "/identifier-contingency-lists/" + contingencyListIds.get(i))
+                            .contentType(APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            matchIdBasedContingencyList(objectMapper.readValue(res, IdBasedContingencyList.class),
+                    createIdBasedContingencyList(contingencyListIds.get(i), Instant.now(), identifiers.get(i)));
+        }
+    }
+
+    @Test
+    void testModifyIdBasedContingencyListIncrementally() throws Exception {
+        UUID contingencyListId = objectMapper.readValue(mvc.perform(post("/" + VERSION + "/identifier-contingency-lists")
+                        .content(objectMapper.writeValueAsString(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1", "NHV1_NHV2_2", "GEN")))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString(), IdBasedContingencyList.class).getId();
+
+        IdentifierContingencyListModification modification = new IdentifierContingencyListModification(
+                List.of("GEN"),
+                Map.of("NHV1_NHV2_1", "LINE1"),
+                Map.of("NHV1_NHV2_2", Set.of("GEN")),
+                Map.of("NHV1_NHV2_2", Set.of("NHV1_NHV2_2")),
+                List.of(new IdentifierContingencyListModification.AddedContingency("LOAD", Set.of("LOAD"))));
+        mvc.perform(patch("/" + VERSION + "/identifier-contingency-lists/" + contingencyListId)
+                        .content(objectMapper.writeValueAsString(modification))
+                        .contentType(APPLICATION_JSON)
+                        .header(USER_ID_HEADER, USER_ID_HEADER))
+                .andExpect(status().isOk());
+
+        Message<byte[]> message = output.receive(TIMEOUT, elementUpdateDestination);
+        assertEquals(contingencyListId, message.getHeaders().get(NotificationService.HEADER_ELEMENT_UUID));
+        assertEquals(USER_ID_HEADER, message.getHeaders().get(NotificationService.HEADER_MODIFIED_BY));
+
+        String res = mvc.perform(get("/" + VERSION + "/identifier-contingency-lists/" + contingencyListId)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<NetworkElementIdentifier> expectedIdentifiers = List.of(
+                new NetworkElementIdentifierContingencyList(List.of(new IdBasedNetworkElementIdentifier("NHV1_NHV2_1")), "LINE1"),
+                new NetworkElementIdentifierContingencyList(List.of(new IdBasedNetworkElementIdentifier("GEN")), "NHV1_NHV2_2"),
+                new NetworkElementIdentifierContingencyList(List.of(new IdBasedNetworkElementIdentifier("LOAD")), "LOAD"));
+        matchIdBasedContingencyList(objectMapper.readValue(res, IdBasedContingencyList.class),
+                new IdBasedContingencyList(contingencyListId, Instant.now(), new IdentifierContingencyList(contingencyListId.toString(), expectedIdentifiers)));
+        // removed contingencies are deleted, not only unlinked from the list
+        assertEquals(3, identifierListRepository.count());
+
+        // unknown contingency
+        mvc.perform(patch("/" + VERSION + "/identifier-contingency-lists/" + contingencyListId)
+                        .content(objectMapper.writeValueAsString(new IdentifierContingencyListModification(List.of("GEN"), null, null, null, null)))
+                        .contentType(APPLICATION_JSON)
+                        .header(USER_ID_HEADER, USER_ID_HEADER))
+                .andExpect(status().isBadRequest());
+
+        // contingency left without equipment
+        mvc.perform(patch("/" + VERSION + "/identifier-contingency-lists/" + contingencyListId)
+                        .content(objectMapper.writeValueAsString(new IdentifierContingencyListModification(null, null, null, Map.of("LOAD", Set.of("LOAD")), null)))
+                        .contentType(APPLICATION_JSON)
+                        .header(USER_ID_HEADER, USER_ID_HEADER))
+                .andExpect(status().isBadRequest());
+
+        // contingency renamed or added with the name of another one
+        mvc.perform(patch("/" + VERSION + "/identifier-contingency-lists/" + contingencyListId)
+                        .content(objectMapper.writeValueAsString(new IdentifierContingencyListModification(null, Map.of("LINE1", "LOAD"), null, null, null)))
+                        .contentType(APPLICATION_JSON)
+                        .header(USER_ID_HEADER, USER_ID_HEADER))
+                .andExpect(status().isBadRequest());
+        mvc.perform(patch("/" + VERSION + "/identifier-contingency-lists/" + contingencyListId)
+                        .content(objectMapper.writeValueAsString(new IdentifierContingencyListModification(null, null, null, null,
+                                List.of(new IdentifierContingencyListModification.AddedContingency("NHV1_NHV2_2", Set.of("NHV1_NHV2_1"))))))
+                        .contentType(APPLICATION_JSON)
+                        .header(USER_ID_HEADER, USER_ID_HEADER))
+                .andExpect(status().isBadRequest());
+        res = mvc.perform(get("/" + VERSION + "/identifier-contingency-lists/" + contingencyListId)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        matchIdBasedContingencyList(objectMapper.readValue(res, IdBasedContingencyList.class),
+                new IdBasedContingencyList(contingencyListId, Instant.now(), new IdentifierContingencyList(contingencyListId.toString(), expectedIdentifiers)));
+
+        mvc.perform(patch("/" + VERSION + "/identifier-contingency-lists/" + UUID.randomUUID())
+                        .content(objectMapper.writeValueAsString(modification))
+                        .contentType(APPLICATION_JSON)
+                        .header(USER_ID_HEADER, USER_ID_HEADER))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void createIdBasedContingencyList() throws Exception {
         Instant modificationDate = Instant.now();
@@ -504,6 +834,83 @@ class ContingencyListControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testExportContingencyListInSmileFormat() throws Exception {
+        UUID contingencyListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1", "NHV1_NHV2_2", "GEN", "Test"));
+        String url = "/" + VERSION + "/contingency-lists/export?networkUuid=" + NETWORK_UUID + "&variantId=" + VARIANT_ID_1 + "&contingencyListIds=" + contingencyListId;
+
+        byte[] json = mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mvc.perform(get(url).accept(ExportSerializationConfig.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ExportSerializationConfig.APPLICATION_SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(objectMapper.readTree(json), new ObjectMapper(new SmileFactory()).readTree(smile));
+        assertTrue(smile.length < json.length);
+        assertEquals(smile.length, meterRegistry.get(ContingencyListMetrics.PAYLOAD_SIZE_METER_NAME)
+                .tag(ContingencyListMetrics.PAYLOAD_TAG, "export").tag(ContingencyListMetrics.FORMAT_TAG, "smile").summary().max());
+        assertTrue(meterRegistry.get(ContingencyListMetrics.SERIALIZATION_METER_NAME)
+                .tag(ContingencyListMetrics.PAYLOAD_TAG, "export").tag(ContingencyListMetrics.FORMAT_TAG, "json").timer().count() > 0);
+    }
+
+    @Test
+    void testExportJob() throws Exception {
+        UUID contingencyListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1", "NHV1_NHV2_2", "GEN", "Test"));
+        String query = "?networkUuid=" + NETWORK_UUID + "&variantId=" + VARIANT_ID_1 + "&contingencyListIds=" + contingencyListId;
+        String expected = mvc.perform(get("/" + VERSION + "/contingency-lists/export" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String res = mvc.perform(post("/" + VERSION + "/contingency-lists/export-jobs" + query + "&priority=1"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        ExportJobInfos job = objectMapper.readValue(res, ExportJobInfos.class);
+        assertEquals(1, job.priority());
+        job = awaitExportJob(job.id());
+        assertEquals(ExportJobInfos.Status.SUCCEEDED, job.status());
+        assertNotNull(job.expirationDate());
+        res = mvc.perform(get("/" + VERSION + "/contingency-lists/export-jobs/" + job.id() + "/result"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(objectMapper.readTree(expected), objectMapper.readTree(res));
+
+        // deleted jobs are forgotten
+        mvc.perform(delete("/" + VERSION + "/contingency-lists/export-jobs/" + job.id()))
+                .andExpect(status().isOk());
+        mvc.perform(get("/" + VERSION + "/contingency-lists/export-jobs/" + job.id()))
+                .andExpect(status().isNotFound());
+        mvc.perform(get("/" + VERSION + "/contingency-lists/export-jobs/" + job.id() + "/result"))
+                .andExpect(status().isNotFound());
+
+        // a failed job has no result
+        res = mvc.perform(post("/" + VERSION + "/contingency-lists/export-jobs?networkUuid=" + UUID.randomUUID() + "&contingencyListIds=" + contingencyListId))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        job = awaitExportJob(objectMapper.readValue(res, ExportJobInfos.class).id());
+        assertEquals(ExportJobInfos.Status.FAILED, job.status());
+        assertNotNull(job.errorMessage());
+        mvc.perform(get("/" + VERSION + "/contingency-lists/export-jobs/" + job.id() + "/result"))
+                .andExpect(status().isConflict());
+    }
+
+    private ExportJobInfos awaitExportJob(UUID jobId) throws Exception {
+        for (int i = 0; i < 500; i++) {
+            String res = mvc.perform(get("/" + VERSION + "/contingency-lists/export-jobs/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            ExportJobInfos job = objectMapper.readValue(res, ExportJobInfos.class);
+            if (job.status() == ExportJobInfos.Status.SUCCEEDED || job.status() == ExportJobInfos.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Export job " + jobId + " not completed");
+    }
+
     @Test
     void testExportUnknownContingencyList() throws Exception {
         mvc.perform(get("/" + VERSION + "/contingency-lists/" + UUID.randomUUID() + "/export?networkUuid=" + NETWORK_UUID + "&variantId=" + VARIANT_ID_1)
@@ -562,6 +969,37 @@ class ContingencyListControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void modifyIdBasedContingencyListToCompact() throws Exception {
+        String res = mvc.perform(post("/" + VERSION + "/identifier-contingency-lists")
+                        .content(objectMapper.writeValueAsString(createIdBasedContingencyList(null, Instant.now(), "LINE1")))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        UUID contingencyListId = objectMapper.readValue(res, IdBasedContingencyList.class).getId();
+        long nbIdentifierLists = identifierListRepository.count();
+
+        ReflectionTestUtils.setField(contingencyListService, "compactStorageMinContingencies", 2);
+        try {
+            IdBasedContingencyList newList = createIdBasedContingencyList(contingencyListId, Instant.now(), "LINE2", "GEN");
+            mvc.perform(put("/" + VERSION + "/identifier-contingency-lists/" + contingencyListId)
+                            .content(objectMapper.writeValueAsString(newList))
+                            .contentType(APPLICATION_JSON)
+                            .header(USER_ID_HEADER, USER_ID_HEADER))
+                    .andExpect(status().isOk());
+            output.receive(TIMEOUT, elementUpdateDestination);
+
+            // the contingency rows of the list before its compaction are deleted
+            assertEquals(nbIdentifierLists - 1, identifierListRepository.count());
+            res = mvc.perform(get("/" + VERSION + "/identifier-contingency-lists/" + contingencyListId)
+                            .contentType(APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            matchIdBasedContingencyList(objectMapper.readValue(res, IdBasedContingencyList.class), newList);
+        } finally {
+            ReflectionTestUtils.setField(contingencyListService, "compactStorageMinContingencies", 0);
+        }
+    }
+
     @Test
     void testCountContingencyList() throws Exception {
         // Add filter based contingency list
@@ -621,6 +1059,135 @@ class ContingencyListControllerTest {
         return filterBasedContingencyList.getId();
     }
 
+    @Test
+    void testNetworkCache() throws Exception {
+        IdBasedContingencyList idBasedContingencyList = createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1");
+        String res = mvc.perform(post("/" + VERSION + "/identifier-contingency-lists")
+                        .content(objectMapper.writeValueAsString(idBasedContingencyList))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        UUID contingencyListId = objectMapper.readValue(res, IdBasedContingencyList.class).getId();
+
+        // the network is loaded once for successive requests on the same variant, its collections on first access
+        exportContingencies(contingencyListId, VARIANT_ID_1);
+        exportContingencies(contingencyListId, VARIANT_ID_1);
+        verify(networkStoreService, times(1)).getNetwork(NETWORK_UUID, PreloadingStrategy.COLLECTION);
+
+        // each variant has its own entry
+        exportContingencies(contingencyListId, VARIANT_ID_2);
+        verify(networkStoreService, times(2)).getNetwork(NETWORK_UUID, PreloadingStrategy.COLLECTION);
+
+        // evicted networks are loaded again
+        mvc.perform(delete("/" + VERSION + "/supervision/network-cache?networkUuid=" + NETWORK_UUID))
+                .andExpect(status().isOk());
+        exportContingencies(contingencyListId, VARIANT_ID_2);
+        verify(networkStoreService, times(3)).getNetwork(NETWORK_UUID, PreloadingStrategy.COLLECTION);
+    }
+
+    @Test
+    void testSeveralListsEvaluatedOnTheirOwnNetworks() throws Exception {
+        // each load gives a new network instance, as the network store does
+        given(networkStoreService.getNetwork(eq(NETWORK_UUID), any(PreloadingStrategy.class))).willAnswer(invocation -> EurostagTutorialExample1Factory.create(new NetworkFactoryImpl()));
+        Set<Network> networksInUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        AtomicBoolean sharedNetwork = new AtomicBoolean();
+        doAnswer(invocation -> {
+            Network evaluatedNetwork = invocation.getArgument(1);
+            if (!networksInUse.add(evaluatedNetwork)) {
+                sharedNetwork.set(true);
+            }
+            try {
+                // the other lists are evaluated meanwhile
+                Thread.sleep(100);
+                return invocation.callRealMethod();
+            } finally {
+                networksInUse.remove(evaluatedNetwork);
+            }
+        }).when(contingencyListEvaluator).evaluateContingencyList(any(), any());
+        UUID firstListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1", "NHV1_NHV2_2"));
+        UUID secondListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "GEN", "LOAD"));
+        UUID thirdListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NGEN_NHV1", "NHV2_NLOAD"));
+        String url = "/" + VERSION + "/contingency-lists/contingency-infos/export?networkUuid=" + NETWORK_UUID + "&ids=" + firstListId + "&ids=" + secondListId + "&ids=" + thirdListId;
+
+        String res = mvc.perform(get(url).contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> contingencyIds = new ArrayList<>();
+        objectMapper.readTree(res).forEach(contingencyInfos -> contingencyIds.add(contingencyInfos.get("id").asText()));
+        assertEquals(List.of("NHV1_NHV2_1", "NHV1_NHV2_2", "GEN", "LOAD", "NGEN_NHV1", "NHV2_NLOAD"), contingencyIds);
+
+        // the lists are evaluated concurrently, never two of them on the same network instance
+        verify(contingencyListEvaluator, times(3)).evaluateContingencyList(any(), any());
+        assertFalse(sharedNetwork.get());
+
+        // the instances are kept for the next request
+        clearInvocations(networkStoreService);
+        mvc.perform(get(url).contentType(APPLICATION_JSON))
+                .andExpect(status().isOk());
+        verify(networkStoreService, never()).getNetwork(any(), any(PreloadingStrategy.class));
+        assertFalse(sharedNetwork.get());
+    }
+
+    @Test
+    void testContingencyCountCache() throws Exception {
+        UUID contingencyListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1", "Test"));
+
+        // the second count is answered without counting again, the list with a missing equipment being evaluated
+        assertEquals(1, countContingencies(contingencyListId, VARIANT_ID_1).countByContingencyList().get(contingencyListId).nbContingencies());
+        assertEquals(1, countContingencies(contingencyListId, VARIANT_ID_1).countByContingencyList().get(contingencyListId).nbContingencies());
+        verify(contingencyCountEngine, times(1)).countIdBasedContingencyList(any(), any());
+        verify(contingencyListEvaluator, times(1)).evaluateContingencyList(any(), any());
+
+        // another variant is counted separately
+        countContingencies(contingencyListId, VARIANT_ID_2);
+        verify(contingencyCountEngine, times(2)).countIdBasedContingencyList(any(), any());
+        verify(contingencyListEvaluator, times(2)).evaluateContingencyList(any(), any());
+
+        // a modified list is counted again, from its identifiers as all its equipments are found
+        mvc.perform(put("/" + VERSION + "/identifier-contingency-lists/" + contingencyListId)
+                        .content(objectMapper.writeValueAsString(createIdBasedContingencyList(contingencyListId, Instant.now(), "NHV1_NHV2_1", "NHV1_NHV2_2", "GEN")))
+                        .contentType(APPLICATION_JSON)
+                        .header(USER_ID_HEADER, USER_ID_HEADER))
+                .andExpect(status().isOk());
+        assertNotNull(output.receive(TIMEOUT, elementUpdateDestination));
+        assertEquals(3, countContingencies(contingencyListId, VARIANT_ID_1).countByContingencyList().get(contingencyListId).nbContingencies());
+        verify(contingencyCountEngine, times(3)).countIdBasedContingencyList(any(), any());
+        verify(contingencyListEvaluator, times(2)).evaluateContingencyList(any(), any());
+    }
+
+    @Test
+    void testContingencyListMetrics() throws Exception {
+        UUID contingencyListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1", "Test"));
+        double contingencies = meterRegistry.find(ContingencyListMetrics.CONTINGENCIES_METER_NAME).tag(ContingencyListMetrics.TYPE_TAG, "IDENTIFIERS")
+                .summaries().stream().mapToDouble(DistributionSummary::totalAmount).sum();
+        double notFoundElements = meterRegistry.find(ContingencyListMetrics.NOT_FOUND_ELEMENTS_METER_NAME).tag(ContingencyListMetrics.TYPE_TAG, "IDENTIFIERS")
+                .summaries().stream().mapToDouble(DistributionSummary::totalAmount).sum();
+
+        countContingencies(contingencyListId, VARIANT_ID_1);
+
+        assertEquals(contingencies + 1, meterRegistry.get(ContingencyListMetrics.CONTINGENCIES_METER_NAME).tag(ContingencyListMetrics.TYPE_TAG, "IDENTIFIERS").summary().totalAmount());
+        assertEquals(notFoundElements + 1, meterRegistry.get(ContingencyListMetrics.NOT_FOUND_ELEMENTS_METER_NAME).tag(ContingencyListMetrics.TYPE_TAG, "IDENTIFIERS").summary().totalAmount());
+        assertTrue(meterRegistry.get(ContingencyListMetrics.OPERATION_METER_NAME).tag(ContingencyListMetrics.OPERATION_TAG, "count").timer().count() > 0);
+        assertTrue(meterRegistry.get(ContingencyListMetrics.NETWORK_LOAD_METER_NAME).timer().count() > 0);
+        assertTrue(meterRegistry.get(ContingencyListMetrics.DATABASE_LOAD_METER_NAME).tag(ContingencyListMetrics.TYPE_TAG, "IDENTIFIERS").timer().count() > 0);
+        assertTrue(meterRegistry.get(ContingencyListMetrics.EVALUATION_METER_NAME).tag(ContingencyListMetrics.TYPE_TAG, "IDENTIFIERS").timer().count() > 0);
+        assertTrue(meterRegistry.get(ContingencyListMetrics.NETWORK_INDEX_BUILD_METER_NAME).timer().count() > 0);
+        assertTrue(meterRegistry.get(ContingencyListMetrics.NETWORK_INDEX_SIZE_METER_NAME).summary().totalAmount() > 0);
+    }
+
+    private void exportContingencies(UUID contingencyListId, String variantId) throws Exception {
+        mvc.perform(get("/" + VERSION + "/contingency-lists/export?networkUuid=" + NETWORK_UUID + "&variantId=" + variantId + "&contingencyListIds=" + contingencyListId)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    private ContingencyCount countContingencies(UUID contingencyListId, String variantId) throws Exception {
+        String res = mvc.perform(get("/" + VERSION + "/contingency-lists/count?ids=" + contingencyListId + "&networkUuid=" + NETWORK_UUID + "&variantId=" + variantId)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(res, ContingencyCount.class);
+    }
+
     @Test
     void testCountContingencyListWithError() throws Exception {
         // Add id based contingency list with a voltage level id : invalid contingency
@@ -679,6 +1246,31 @@ class ContingencyListControllerTest {
         assertTrue(res.get(CONTINGENCY_2).missingUuids().contains(missingUuid2));
     }
 
+    @Test
+    void testCountContingencyListByGroupWithSharedList() throws Exception {
+        UUID sharedContingencyListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1", "NHV1_NHV2_2"));
+        UUID contingencyListId = addIdBasedContingencyList(createIdBasedContingencyList(null, Instant.now(), "GEN"));
+        ContingencyIdsByGroup contingencyIdsByGroup = ContingencyIdsByGroup.builder()
+                .ids(Map.of(
+                        CONTINGENCY_1, List.of(sharedContingencyListId, contingencyListId),
+                        CONTINGENCY_2, List.of(sharedContingencyListId)))
+                .build();
+
+        Map<String, CountWithMissingUuids> res = objectMapper.readValue(
+                mvc.perform(post("/" + VERSION + "/contingency-lists/count-by-group?networkUuid=" + NETWORK_UUID + "&variantId=" + VARIANT_ID_1)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(contingencyIdsByGroup)))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                new TypeReference<>() {
+                });
+
+        assertEquals(3, res.get(CONTINGENCY_1).count());
+        assertEquals(2, res.get(CONTINGENCY_2).count());
+        // the shared list is counted once for both groups
+        verify(contingencyCountEngine, times(2)).countIdBasedContingencyList(any(), any());
+    }
+
     @Test
     void testGetPersistentContingencyLists() throws Exception {
         // Create an id based contingency list
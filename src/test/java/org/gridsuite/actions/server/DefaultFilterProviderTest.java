@@ -1,29 +1,206 @@
 package org.gridsuite.actions.server;
 
+import com.powsybl.contingency.ContingencyElement;
+import com.powsybl.iidm.network.IdentifiableType;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import com.powsybl.network.store.iidm.impl.NetworkFactoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.gridsuite.actions.ContingencyListEvaluator;
+import org.gridsuite.actions.dto.EquipmentTypesByFilter;
+import org.gridsuite.actions.dto.FilterAttributes;
+import org.gridsuite.actions.dto.contingency.FilterBasedContingencyList;
+import org.gridsuite.actions.dto.evaluation.ContingencyInfos;
+import org.gridsuite.actions.server.service.FilterEvaluationMemo;
 import org.gridsuite.actions.server.service.FilterService;
+import org.gridsuite.filter.AbstractFilter;
+import org.gridsuite.filter.expertfilter.ExpertFilter;
+import org.gridsuite.filter.expertfilter.expertrule.CombinatorExpertRule;
+import org.gridsuite.filter.expertfilter.expertrule.StringExpertRule;
+import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
+import org.gridsuite.filter.identifierlistfilter.IdentifiableAttributes;
+import org.gridsuite.filter.utils.EquipmentType;
+import org.gridsuite.filter.utils.FilterServiceUtils;
+import org.gridsuite.filter.utils.expertfilter.CombinatorType;
+import org.gridsuite.filter.utils.expertfilter.FieldType;
+import org.gridsuite.filter.utils.expertfilter.OperatorType;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
 
-import java.util.List;
-import java.util.UUID;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
 
-import static org.mockito.Mockito.verify;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DefaultFilterProviderTest {
-    @InjectMocks
     private DefaultFilterProvider defaultFilterProvider;
 
     @Mock
     private FilterService filterService;
 
+    @BeforeEach
+    void setUp() {
+        defaultFilterProvider = new DefaultFilterProvider(filterService, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    }
+
     @Test
     void getFiltersShouldCallFilterService() {
         List<UUID> filters = List.of(UUID.randomUUID(), UUID.randomUUID());
         defaultFilterProvider.getFilters(filters);
         verify(filterService).getFilters(filters);
     }
+
+    @Test
+    void getFiltersShouldOnlyFetchMissingFilters() {
+        AbstractFilter filter1 = createFilter();
+        AbstractFilter filter2 = createFilter();
+        AbstractFilter filter3 = createFilter();
+        when(filterService.getFilters(List.of(filter1.getId(), filter2.getId()))).thenReturn(List.of(filter1, filter2));
+        when(filterService.getFilters(List.of(filter3.getId()))).thenReturn(List.of(filter3));
+
+        assertEquals(List.of(filter1, filter2), defaultFilterProvider.getFilters(List.of(filter1.getId(), filter2.getId())));
+        // cached filters are not fetched again, missing ones are fetched in a single call
+        assertEquals(List.of(filter2, filter3, filter1), defaultFilterProvider.getFilters(List.of(filter2.getId(), filter3.getId(), filter1.getId())));
+        assertEquals(List.of(filter3), defaultFilterProvider.getFilters(List.of(filter3.getId())));
+
+        verify(filterService).getFilters(List.of(filter1.getId(), filter2.getId()));
+        verify(filterService).getFilters(List.of(filter3.getId()));
+        verifyNoMoreInteractions(filterService);
+    }
+
+    @Test
+    void getFiltersShouldNotCallFilterServiceWithoutFilter() {
+        assertEquals(List.of(), defaultFilterProvider.getFilters(List.of()));
+        verifyNoInteractions(filterService);
+    }
+
+    @Test
+    void updatedFiltersShouldBeFetchedAgain() {
+        AbstractFilter filter = createFilter();
+        AbstractFilter updatedFilter = new IdentifierListFilter(filter.getId(), new Date(), EquipmentType.LOAD, List.of());
+        when(filterService.getFilters(List.of(filter.getId()))).thenReturn(List.of(filter), List.of(updatedFilter));
+        Consumer<Message<String>> consumeElementUpdate = new ConsumerService(defaultFilterProvider).consumeElementUpdate();
+
+        assertEquals(List.of(filter), defaultFilterProvider.getFilters(List.of(filter.getId())));
+        // updates of other elements keep the cached filter
+        consumeElementUpdate.accept(MessageBuilder.withPayload("").setHeader(NotificationService.HEADER_ELEMENT_UUID, UUID.randomUUID().toString()).build());
+        assertEquals(List.of(filter), defaultFilterProvider.getFilters(List.of(filter.getId())));
+        consumeElementUpdate.accept(MessageBuilder.withPayload("").setHeader(NotificationService.HEADER_ELEMENT_UUID, filter.getId().toString()).build());
+        assertEquals(List.of(updatedFilter), defaultFilterProvider.getFilters(List.of(filter.getId())));
+
+        verify(filterService, times(2)).getFilters(List.of(filter.getId()));
+    }
+
+    @Test
+    void getFiltersShouldShareFiltersOfMemo() {
+        AbstractFilter filter1 = createFilter();
+        AbstractFilter filter2 = createFilter();
+        when(filterService.getFilters(List.of(filter1.getId(), filter2.getId()))).thenReturn(List.of(filter1, filter2));
+        // identifier list filters do not need any network
+        FilterEvaluationMemo filterEvaluationMemo = new FilterEvaluationMemo();
+
+        // as requested by two lists sharing a filter
+        List<AbstractFilter> filters = FilterEvaluationMemo.callWith(filterEvaluationMemo, () -> {
+            List<AbstractFilter> list1Filters = defaultFilterProvider.getFilters(List.of(filter1.getId(), filter2.getId()));
+            List<AbstractFilter> list2Filters = defaultFilterProvider.getFilters(List.of(filter2.getId()));
+            assertSame(list1Filters.get(1), list2Filters.get(0));
+            return list1Filters;
+        });
+
+        assertEquals(List.of(filter1.getId(), filter2.getId()), filters.stream().map(AbstractFilter::getId).toList());
+        assertEquals(3, filterEvaluationMemo.getNbRequestedFilters());
+        assertEquals(1, filterEvaluationMemo.getNbReusedFilters());
+        // identifier list filters are used as is
+        assertEquals(0, filterEvaluationMemo.getNbEvaluatedFilters());
+        assertTrue(FilterEvaluationMemo.current().isEmpty());
+        verify(filterService).getFilters(List.of(filter1.getId(), filter2.getId()));
+        verifyNoMoreInteractions(filterService);
+    }
+
+    @Test
+    void getFiltersShouldEvaluateSharedExpertFilterOnce() {
+        AbstractFilter expertFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+                CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                        StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.IS).value("GEN").build())).build());
+        AbstractFilter filter = createFilter();
+        when(filterService.getFilters(List.of(expertFilter.getId(), filter.getId()))).thenReturn(List.of(expertFilter, filter));
+        FilterEvaluationMemo filterEvaluationMemo = new FilterEvaluationMemo();
+
+        // as requested by two lists sharing the expert filter, each evaluated on its own network instance
+        List<AbstractFilter> filters = FilterEvaluationMemo.callWith(filterEvaluationMemo.on(EurostagTutorialExample1Factory.create(new NetworkFactoryImpl())),
+            () -> defaultFilterProvider.getFilters(List.of(expertFilter.getId(), filter.getId())));
+        List<AbstractFilter> list2Filters = FilterEvaluationMemo.callWith(filterEvaluationMemo.on(EurostagTutorialExample1Factory.create(new NetworkFactoryImpl())),
+            () -> defaultFilterProvider.getFilters(List.of(expertFilter.getId())));
+        assertSame(filters.get(0), list2Filters.get(0));
+
+        // the expert filter is replaced by an expert filter of the ids of the equipments it matches on the network
+        ExpertFilter evaluatedFilter = assertInstanceOf(ExpertFilter.class, filters.get(0));
+        assertEquals(expertFilter.getId(), evaluatedFilter.getId());
+        assertEquals(EquipmentType.GENERATOR, evaluatedFilter.getEquipmentType());
+        assertEquals(List.of("GEN"), FilterServiceUtils.getIdentifiableAttributes(evaluatedFilter, EurostagTutorialExample1Factory.create(new NetworkFactoryImpl()), uuids -> List.of())
+                .stream().map(IdentifiableAttributes::getId).toList());
+        assertEquals(1, filterEvaluationMemo.getNbEvaluatedFilters());
+        assertEquals(1, filterEvaluationMemo.getNbReusedFilters());
+        verify(filterService).getFilters(List.of(expertFilter.getId(), filter.getId()));
+        verifyNoMoreInteractions(filterService);
+    }
+
+    @Test
+    void memoizedEvaluationShouldMatchEvaluationWithoutMemo() {
+        Network network = EurostagTutorialExample1Factory.createWithMoreGenerators(new NetworkFactoryImpl());
+        AbstractFilter generatorFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR,
+                CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                        StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.IN).values(Set.of("GEN", "GEN2")).build())).build());
+        AbstractFilter substationFilter = new ExpertFilter(UUID.randomUUID(), new Date(), EquipmentType.SUBSTATION,
+                CombinatorExpertRule.builder().combinator(CombinatorType.AND).rules(List.of(
+                        StringExpertRule.builder().field(FieldType.ID).operator(OperatorType.IS).value("P1").build())).build());
+        Map<UUID, AbstractFilter> filtersById = Map.of(generatorFilter.getId(), generatorFilter, substationFilter.getId(), substationFilter);
+        when(filterService.getFilters(any())).thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0).stream().map(filtersById::get).toList());
+        // two lists sharing both filters, the equipments of the substations being of another type in each list
+        List<FilterBasedContingencyList> contingencyLists = List.of(
+                createFilterBasedContingencyList(generatorFilter, substationFilter, IdentifiableType.GENERATOR),
+                createFilterBasedContingencyList(generatorFilter, substationFilter, IdentifiableType.LOAD));
+        ContingencyListEvaluator contingencyListEvaluator = new ContingencyListEvaluator(defaultFilterProvider);
+
+        List<List<String>> contingencies = contingencyLists.stream()
+                .map(contingencyList -> describe(contingencyListEvaluator.evaluateContingencyList(contingencyList, network)))
+                .toList();
+        FilterEvaluationMemo filterEvaluationMemo = new FilterEvaluationMemo();
+        List<List<String>> memoizedContingencies = contingencyLists.stream()
+                .map(contingencyList -> FilterEvaluationMemo.callWith(filterEvaluationMemo.on(network),
+                    () -> describe(contingencyListEvaluator.evaluateContingencyList(contingencyList, network))))
+                .toList();
+
+        assertFalse(contingencies.get(0).isEmpty());
+        assertEquals(contingencies, memoizedContingencies);
+        assertEquals(2, filterEvaluationMemo.getNbEvaluatedFilters());
+        assertEquals(2, filterEvaluationMemo.getNbReusedFilters());
+    }
+
+    private static FilterBasedContingencyList createFilterBasedContingencyList(AbstractFilter filter, AbstractFilter substationFilter, IdentifiableType substationEquipmentType) {
+        return new FilterBasedContingencyList(UUID.randomUUID(), Instant.now(),
+                List.of(new FilterAttributes(filter.getId(), null), new FilterAttributes(substationFilter.getId(), null)),
+                List.of(new EquipmentTypesByFilter(substationFilter.getId(), Set.of(substationEquipmentType))));
+    }
+
+    private static List<String> describe(List<ContingencyInfos> contingencyInfos) {
+        return contingencyInfos.stream()
+                .map(infos -> infos.getId()
+                        + " " + (infos.getContingency() == null ? List.of() : infos.getContingency().getElements().stream().map(ContingencyElement::getId).toList())
+                        + " " + (infos.getNotFoundElements() == null ? Set.of() : new TreeSet<>(infos.getNotFoundElements())))
+                .toList();
+    }
+
+    private static AbstractFilter createFilter() {
+        return new IdentifierListFilter(UUID.randomUUID(), new Date(), EquipmentType.GENERATOR, List.of());
+    }
 }
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.gridsuite.actions.dto.evaluation.ContingencyListExportResult;
+import org.gridsuite.actions.server.dto.ExportJobInfos;
+import org.gridsuite.actions.server.service.ContingencyListMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExportJobServiceTest {
+
+    private static final UUID BLOCKING_NETWORK_UUID = UUID.randomUUID();
+
+    @TempDir
+    private Path resultDirectory;
+
+    private final ContingencyListService contingencyListService = mock(ContingencyListService.class);
+
+    private final List<UUID> exportedNetworkUuids = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ExportJobService exportJobService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(contingencyListService.exportContingencyList(any(), any(), any())).thenAnswer(invocation -> {
+            UUID networkUuid = invocation.getArgument(1);
+            exportedNetworkUuids.add(networkUuid);
+            if (networkUuid.equals(BLOCKING_NETWORK_UUID)) {
+                started.countDown();
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            }
+            return new ContingencyListExportResult(List.of(), List.of());
+        });
+        exportJobService = new ExportJobService(contingencyListService, new ObjectMapper(), new ContingencyListMetrics(new SimpleMeterRegistry()),
+                1, 10, resultDirectory, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        exportJobService.shutdown();
+    }
+
+    @Test
+    void pendingJobsRunByDecreasingPriority() throws Exception {
+        exportJobService.submit(List.of(UUID.randomUUID()), BLOCKING_NETWORK_UUID, null, 0);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // submitted while the only worker is busy
+        UUID lowPriorityNetworkUuid = UUID.randomUUID();
+        UUID highPriorityNetworkUuid = UUID.randomUUID();
+        ExportJobInfos lowPriorityJob = exportJobService.submit(List.of(UUID.randomUUID()), lowPriorityNetworkUuid, null, 0);
+        ExportJobInfos highPriorityJob = exportJobService.submit(List.of(UUID.randomUUID()), highPriorityNetworkUuid, null, 5);
+        release.countDown();
+
+        awaitSucceeded(lowPriorityJob.id());
+        awaitSucceeded(highPriorityJob.id());
+        assertEquals(List.of(BLOCKING_NETWORK_UUID, highPriorityNetworkUuid, lowPriorityNetworkUuid), exportedNetworkUuids);
+    }
+
+    private void awaitSucceeded(UUID jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ExportJobInfos job = exportJobService.getJob(jobId).orElseThrow();
+            if (job.status() == ExportJobInfos.Status.SUCCEEDED) {
+                return;
+            }
+            assertNotEquals(ExportJobInfos.Status.FAILED, job.status());
+            Thread.sleep(100);
+        }
+        fail("Export job " + jobId + " has not completed");
+    }
+}
@@ -16,6 +16,7 @@ import com.powsybl.contingency.list.IdentifierContingencyList;
 import com.powsybl.iidm.network.identifiers.IdBasedNetworkElementIdentifier;
 import com.powsybl.iidm.network.identifiers.NetworkElementIdentifier;
 import com.powsybl.iidm.network.identifiers.NetworkElementIdentifierContingencyList;
+import org.gridsuite.actions.dto.ContingencyListMetadataImpl;
 import org.gridsuite.actions.dto.contingency.IdBasedContingencyList;
 import org.gridsuite.actions.server.repositories.IdBasedContingencyListRepository;
 import org.junit.jupiter.api.*;
@@ -23,9 +24,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -33,6 +36,7 @@ import java.util.stream.Collectors;
 
 import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -51,6 +55,9 @@ class SupervisionControllerTest {
     @Autowired
     private IdBasedContingencyListRepository idBasedContingencyListRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private ObjectMapper objectMapper;
 
     @Autowired
@@ -82,16 +89,62 @@ class SupervisionControllerTest {
         assertEquals(1, count);
     }
 
+    @Test
+    void testContingencyListsPages() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1");
+        }
+        List<ContingencyListMetadataImpl> allMetadata = getContingencyListsMetadata("");
+        assertEquals(3, allMetadata.size());
+
+        // pages follow the order of the whole listing
+        List<ContingencyListMetadataImpl> firstPage = getContingencyListsMetadata("?limit=2");
+        assertEquals(allMetadata.subList(0, 2).stream().map(ContingencyListMetadataImpl::getId).toList(), firstPage.stream().map(ContingencyListMetadataImpl::getId).toList());
+        ContingencyListMetadataImpl last = firstPage.get(1);
+        List<ContingencyListMetadataImpl> secondPage = getContingencyListsMetadata("?limit=2&afterModificationDate=" + last.getModificationDate() + "&afterId=" + last.getId());
+        assertEquals(List.of(allMetadata.get(2).getId()), secondPage.stream().map(ContingencyListMetadataImpl::getId).toList());
+
+        mvc.perform(get("/" + VERSION + "/supervision/contingency-lists?limit=2&afterModificationDate=" + last.getModificationDate()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testContingencyListsPagesWithoutModificationDate() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            createIdBasedContingencyList(null, Instant.now(), "NHV1_NHV2_1");
+        }
+        List<UUID> ids = getContingencyListsMetadata("").stream().map(ContingencyListMetadataImpl::getId).toList();
+        jdbcTemplate.update("UPDATE id_based_contingency_list SET modification_date = NULL WHERE id IN (?, ?)", ids.get(0), ids.get(1));
+
+        // lists without modification date come last, and pages ending on one of them are followed
+        List<ContingencyListMetadataImpl> allMetadata = getContingencyListsMetadata("");
+        assertEquals(4, allMetadata.size());
+        assertNull(allMetadata.get(2).getModificationDate());
+        assertNull(allMetadata.get(3).getModificationDate());
+        List<UUID> pagedIds = new ArrayList<>();
+        List<ContingencyListMetadataImpl> page = getContingencyListsMetadata("?limit=1");
+        while (!page.isEmpty()) {
+            pagedIds.add(page.getFirst().getId());
+            ContingencyListMetadataImpl last = page.getFirst();
+            page = getContingencyListsMetadata("?limit=1&afterId=" + last.getId()
+                    + (last.getModificationDate() != null ? "&afterModificationDate=" + last.getModificationDate() : ""));
+        }
+        assertEquals(allMetadata.stream().map(ContingencyListMetadataImpl::getId).toList(), pagedIds);
+    }
+
     private int getContingencyListsCount() throws Exception {
-        String res = mvc.perform(get("/" + VERSION + "/supervision/contingency-lists")
+        return getContingencyListsMetadata("").size();
+    }
+
+    private List<ContingencyListMetadataImpl> getContingencyListsMetadata(String query) throws Exception {
+        String res = mvc.perform(get("/" + VERSION + "/supervision/contingency-lists" + query)
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
                 .andReturn().getResponse().getContentAsString();
 
-        List<IdBasedContingencyList> contingencyListAttributes = objectMapper.readValue(res, new TypeReference<>() {
+        return objectMapper.readValue(res, new TypeReference<>() {
         });
-        return contingencyListAttributes.size();
     }
 
     private void createIdBasedContingencyList(UUID listId, Instant modificationDate, String... identifiers) {
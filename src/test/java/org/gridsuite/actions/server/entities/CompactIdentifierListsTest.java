@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.entities;
+
+import com.powsybl.contingency.list.IdentifierContingencyList;
+import com.powsybl.iidm.network.identifiers.IdBasedNetworkElementIdentifier;
+import com.powsybl.iidm.network.identifiers.NetworkElementIdentifierContingencyList;
+import org.gridsuite.actions.dto.contingency.IdBasedContingencyList;
+import org.gridsuite.actions.server.dto.IdentifierContingencyListModification;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactIdentifierListsTest {
+
+    @Test
+    void decodeReturnsEncodedContingencies() {
+        List<IdentifierListEntity> identifierLists = IntStream.range(0, 1000)
+                .mapToObj(i -> new IdentifierListEntity(UUID.randomUUID(), "N-1_" + i, Set.of("LINE_" + i % 100, "GEN_" + i % 10)))
+                .toList();
+
+        List<IdentifierListEntity> decoded = CompactIdentifierLists.decode(CompactIdentifierLists.encode(identifierLists));
+
+        assertEquals(identifierLists.size(), decoded.size());
+        for (int i = 0; i < identifierLists.size(); i++) {
+            assertEquals(identifierLists.get(i).getName(), decoded.get(i).getName());
+            assertEquals(identifierLists.get(i).getEquipmentIds(), decoded.get(i).getEquipmentIds());
+        }
+    }
+
+    @Test
+    void compactListIsModified() {
+        IdBasedContingencyListEntity entity = new IdBasedContingencyListEntity();
+        entity.setId(UUID.randomUUID());
+        entity.update(new IdBasedContingencyList(entity.getId(), null,
+                new IdentifierContingencyList("list", List.of(
+                        new NetworkElementIdentifierContingencyList(
+                                List.of(new IdBasedNetworkElementIdentifier("LINE1")), "N-1_LINE1"),
+                        new NetworkElementIdentifierContingencyList(
+                                List.of(new IdBasedNetworkElementIdentifier("GEN")), "N-1_GEN")))));
+        entity.compact();
+        assertTrue(entity.isCompact());
+        assertTrue(entity.getIdentifiersListEntities().isEmpty());
+        assertEquals(Set.of("LINE1", "GEN"), entity.getCompactEquipmentIds());
+
+        List<IdentifierListEntity> removed = entity.modify(new IdentifierContingencyListModification(
+                List.of("N-1_GEN"), Map.of("N-1_LINE1", "LINE1"), Map.of("LINE1", Set.of("LINE2")), null,
+                List.of(new IdentifierContingencyListModification.AddedContingency("LOAD", Set.of("LOAD")))));
+
+        assertTrue(removed.isEmpty());
+        List<IdentifierListEntity> identifierLists = entity.getIdentifierLists();
+        assertEquals(List.of("LINE1", "LOAD"), identifierLists.stream().map(IdentifierListEntity::getName).toList());
+        assertEquals(Set.of("LINE1", "LINE2"), identifierLists.get(0).getEquipmentIds());
+        assertEquals(Set.of("LOAD"), identifierLists.get(1).getEquipmentIds());
+        assertEquals(Set.of("LINE1", "LINE2", "LOAD"), entity.getCompactEquipmentIds());
+    }
+}
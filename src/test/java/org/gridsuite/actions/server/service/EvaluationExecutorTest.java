@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.service;
+
+import com.powsybl.commons.PowsyblException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationExecutorTest {
+
+    private final EvaluationExecutor evaluationExecutor = new EvaluationExecutor(3);
+
+    @AfterEach
+    void tearDown() {
+        evaluationExecutor.shutdown();
+    }
+
+    @Test
+    void mapKeepsInputOrder() {
+        List<Integer> items = IntStream.range(0, 50).boxed().toList();
+        List<Integer> results = evaluationExecutor.map(items, i -> {
+            sleep((50 - i) % 5);
+            return i * 2;
+        });
+        assertEquals(items.stream().map(i -> i * 2).toList(), results);
+    }
+
+    @Test
+    void mapRespectsParallelismLimit() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        evaluationExecutor.map(IntStream.range(0, 30).boxed().toList(), i -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(5);
+            running.decrementAndGet();
+            return i;
+        });
+        assertTrue(maxRunning.get() <= 3);
+    }
+
+    @Test
+    void mapRethrowsTaskException() {
+        List<Integer> items = List.of(1, 2, 3);
+        PowsyblException e = assertThrows(PowsyblException.class, () -> evaluationExecutor.map(items, i -> {
+            if (i == 2) {
+                throw new PowsyblException("error on " + i);
+            }
+            return i;
+        }));
+        assertEquals("error on 2", e.getMessage());
+    }
+
+    @Test
+    void invalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationExecutor(0));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
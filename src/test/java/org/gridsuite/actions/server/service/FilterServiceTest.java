@@ -2,6 +2,9 @@ package org.gridsuite.actions.server.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.gridsuite.filter.AbstractFilter;
 import org.gridsuite.filter.identifierlistfilter.IdentifierListFilter;
 import org.gridsuite.filter.identifierlistfilter.IdentifierListFilterEquipmentAttributes;
@@ -9,6 +12,7 @@ import org.gridsuite.filter.utils.EquipmentType;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
@@ -16,17 +20,23 @@ import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.test.web.client.match.MockRestRequestMatchers;
 import org.springframework.test.web.client.response.MockRestResponseCreators;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.gridsuite.actions.server.service.FilterService.*;
 
 @RestClientTest(FilterService.class)
-@ContextConfiguration(classes = {FilterService.class})
+@ContextConfiguration(classes = {FilterService.class, SimpleMeterRegistry.class})
 class FilterServiceTest {
     @Autowired
     FilterService filterService;
@@ -68,4 +78,61 @@ class FilterServiceTest {
         List<AbstractFilter> response = filterService.getFilters(filtersUuids);
         assertThat(response).usingRecursiveComparison().isEqualTo(expectedFilterList);
     }
+
+    @Test
+    void concurrentGetFiltersShareInFlightRequest() throws Exception {
+        WireMockServer wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            AbstractFilter filter = new IdentifierListFilter(UUID.randomUUID(), Date.from(Instant.now()), EquipmentType.GENERATOR, List.of());
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(DELIMITER + FILTER_API_VERSION + FILTER_END_POINT_METADATA))
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(List.of(filter))).withFixedDelay(500)));
+            FilterService service = new FilterService(wireMockServer.baseUrl(), new RestTemplateBuilder(), new SimpleMeterRegistry(),
+                Duration.ofSeconds(5), Duration.ofSeconds(5), 10);
+
+            List<Future<List<AbstractFilter>>> responses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                responses.add(executorService.submit(() -> service.getFilters(List.of(filter.getId()))));
+            }
+            for (Future<List<AbstractFilter>> response : responses) {
+                assertThat(response.get()).usingRecursiveComparison().isEqualTo(List.of(filter));
+            }
+            // callers arriving while the filter is being fetched wait for the same request
+            wireMockServer.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo(DELIMITER + FILTER_API_VERSION + FILTER_END_POINT_METADATA)));
+        } finally {
+            executorService.shutdownNow();
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void getFiltersSharingInFlightRequestKeepRequestedOrder() throws Exception {
+        WireMockServer wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            AbstractFilter sharedFilter = new IdentifierListFilter(UUID.randomUUID(), Date.from(Instant.now()), EquipmentType.GENERATOR, List.of());
+            AbstractFilter ownFilter = new IdentifierListFilter(UUID.randomUUID(), Date.from(Instant.now()), EquipmentType.LOAD, List.of());
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(DELIMITER + FILTER_API_VERSION + FILTER_END_POINT_METADATA))
+                .withQueryParam("ids", WireMock.equalTo(sharedFilter.getId().toString()))
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(List.of(sharedFilter))).withFixedDelay(500)));
+            wireMockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo(DELIMITER + FILTER_API_VERSION + FILTER_END_POINT_METADATA))
+                .withQueryParam("ids", WireMock.equalTo(ownFilter.getId().toString()))
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(List.of(ownFilter)))));
+            FilterService service = new FilterService(wireMockServer.baseUrl(), new RestTemplateBuilder(), new SimpleMeterRegistry(),
+                Duration.ofSeconds(5), Duration.ofSeconds(5), 10);
+
+            Future<List<AbstractFilter>> sharedResponse = executorService.submit(() -> service.getFilters(List.of(sharedFilter.getId())));
+            Thread.sleep(100);
+            // the shared filter, fetched by the other caller, is still returned first
+            List<AbstractFilter> response = service.getFilters(List.of(sharedFilter.getId(), ownFilter.getId()));
+            assertThat(response).usingRecursiveComparison().isEqualTo(List.of(sharedFilter, ownFilter));
+            assertThat(sharedResponse.get()).usingRecursiveComparison().isEqualTo(List.of(sharedFilter));
+            wireMockServer.verify(2, WireMock.getRequestedFor(WireMock.urlPathEqualTo(DELIMITER + FILTER_API_VERSION + FILTER_END_POINT_METADATA)));
+        } finally {
+            executorService.shutdownNow();
+            wireMockServer.stop();
+        }
+    }
 }
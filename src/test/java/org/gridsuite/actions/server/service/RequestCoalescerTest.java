@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.actions.server.service;
+
+import com.powsybl.commons.PowsyblException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private static final UUID NETWORK_UUID = UUID.randomUUID();
+
+    private static final RequestCoalescer.Key KEY = new RequestCoalescer.Key("count", List.of(UUID.randomUUID()), NETWORK_UUID, "variant");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer(new ContingencyListMetrics(meterRegistry));
+
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+        requestCoalescer.shutdown();
+    }
+
+    @Test
+    void identicalRequestsShareComputation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger nbComputations = new AtomicInteger();
+        Callable<Integer> request = () -> requestCoalescer.execute(KEY, () -> {
+            nbComputations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return 42;
+        });
+
+        Future<Integer> first = executorService.submit(request);
+        started.await();
+        Future<Integer> second = executorService.submit(request);
+        Future<Integer> third = executorService.submit(request);
+        awaitCoalescedRequests(2);
+        release.countDown();
+
+        assertEquals(42, first.get());
+        assertEquals(42, second.get());
+        assertEquals(42, third.get());
+        assertEquals(1, nbComputations.get());
+        assertEquals(0, requestCoalescer.getInFlightComputationsCount());
+
+        // completed computations are not kept
+        int result = requestCoalescer.execute(KEY, () -> 43);
+        assertEquals(43, result);
+    }
+
+    @Test
+    void differentRequestsAreNotShared() {
+        RequestCoalescer.Key otherVariantKey = new RequestCoalescer.Key("count", KEY.ids(), NETWORK_UUID, "other variant");
+        int result = requestCoalescer.execute(KEY, () -> requestCoalescer.execute(otherVariantKey, () -> 1));
+        assertEquals(1, result);
+        assertEquals(0, meterRegistry.counter(ContingencyListMetrics.COALESCED_REQUESTS_METER_NAME, ContingencyListMetrics.OPERATION_TAG, "count").count());
+    }
+
+    @Test
+    void waitersGetComputationException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> first = executorService.submit(() -> requestCoalescer.<Integer>execute(KEY, () -> {
+            started.countDown();
+            await(release);
+            throw new PowsyblException("evaluation error");
+        }));
+        started.await();
+        Future<Integer> second = executorService.submit(() -> requestCoalescer.execute(KEY, () -> 0));
+        awaitCoalescedRequests(1);
+        release.countDown();
+
+        assertEquals("evaluation error", assertThrows(ExecutionException.class, first::get).getCause().getMessage());
+        assertEquals("evaluation error", assertThrows(ExecutionException.class, second::get).getCause().getMessage());
+    }
+
+    @Test
+    void cancelInterruptsComputationAndWaiters() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch computationInterrupted = new CountDownLatch(1);
+        AtomicBoolean requestThreadInterrupted = new AtomicBoolean();
+        Future<Integer> first = executorService.submit(() -> {
+            try {
+                return requestCoalescer.execute(KEY, () -> {
+                    started.countDown();
+                    try {
+                        new CountDownLatch(1).await();
+                    } catch (InterruptedException e) {
+                        computationInterrupted.countDown();
+                        Thread.currentThread().interrupt();
+                    }
+                    return 0;
+                });
+            } finally {
+                requestThreadInterrupted.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        started.await();
+        Future<Integer> second = executorService.submit(() -> requestCoalescer.execute(KEY, () -> 0));
+        awaitCoalescedRequests(1);
+
+        assertEquals(0, requestCoalescer.cancel(UUID.randomUUID(), null));
+        assertEquals(0, requestCoalescer.cancel(NETWORK_UUID, "other variant"));
+        assertEquals(1, requestCoalescer.cancel(NETWORK_UUID, null));
+
+        for (Future<Integer> future : List.of(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, future::get);
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, assertInstanceOf(ResponseStatusException.class, e.getCause()).getStatusCode());
+        }
+        // only the computation thread is interrupted, the request threads are left as they were
+        assertTrue(computationInterrupted.await(10, TimeUnit.SECONDS));
+        assertFalse(requestThreadInterrupted.get());
+        assertEquals(0, requestCoalescer.getInFlightComputationsCount());
+        assertEquals(1, meterRegistry.counter(ContingencyListMetrics.CANCELLED_COMPUTATIONS_METER_NAME, ContingencyListMetrics.OPERATION_TAG, "count").count());
+    }
+
+    private void awaitCoalescedRequests(int nbRequests) throws InterruptedException {
+        while (meterRegistry.counter(ContingencyListMetrics.COALESCED_REQUESTS_METER_NAME, ContingencyListMetrics.OPERATION_TAG, "count").count() < nbRequests) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}